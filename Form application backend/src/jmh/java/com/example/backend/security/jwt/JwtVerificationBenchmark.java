@@ -0,0 +1,89 @@
+// src/jmh/java/com/example/backend/security/jwt/JwtVerificationBenchmark.java
+package com.example.backend.security.jwt;
+
+import com.example.backend.model.JwtSigningKey;
+import com.example.backend.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a JWT in AuthTokenFilter.
+ * - legacyDoubleParse: the old path (validate + getUserName, each re-deriving the key and rebuilding the parser)
+ * - prebuiltParserSingleParse: one signature verification with the key and parser built once
+ * - cachedVerification: JwtUtils.verifyJwtToken on a token that has been seen before
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final String KID = "benchmark-kid";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing(inMemoryKeyRepository());
+        keyRing.init();
+        jwtUtils = new JwtUtils(keyRing, new VerifiedTokenCache(10_000));
+        token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, KID)
+                .setSubject("benchmark-user")
+                .claim(JwtUtils.CLAIM_USER_ID, 1L)
+                .claim(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER"))
+                .claim(JwtUtils.CLAIM_TOKEN_VERSION, 0)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        // Prime the cache so cachedVerification measures the hit path
+        jwtUtils.verifyJwtToken(token);
+    }
+
+    @Benchmark
+    public String legacyDoubleParse() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).build()
+                .parse(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String prebuiltParserSingleParse() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public VerifiedTokenCache.VerifiedToken cachedVerification() {
+        return jwtUtils.verifyJwtToken(token);
+    }
+
+    // A single-key repository so the key ring can be exercised without a database
+    private static JwtSigningKeyRepository inMemoryKeyRepository() {
+        JwtSigningKey key = new JwtSigningKey(KID,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(SECRET.getBytes(StandardCharsets.UTF_8)),
+                Instant.now());
+        return (JwtSigningKeyRepository) Proxy.newProxyInstance(
+                JwtSigningKeyRepository.class.getClassLoader(),
+                new Class<?>[]{JwtSigningKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllByOrderByCreatedAtDesc" -> List.of(key);
+                    case "save" -> args[0];
+                    case "deleteCreatedBefore" -> 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
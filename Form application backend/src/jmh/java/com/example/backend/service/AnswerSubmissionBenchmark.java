@@ -0,0 +1,148 @@
+// src/jmh/java/com/example/backend/service/AnswerSubmissionBenchmark.java
+package com.example.backend.service;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.config.StatementCountingInspector;
+import com.example.backend.model.Answer;
+import com.example.backend.model.Form;
+import com.example.backend.model.Question;
+import com.example.backend.model.User;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and database round trips of one POST /api/answers submission against form size.
+ * - legacyPerAnswer: the old loop (findById user, findById question, findByUser_IdAndQuestion_Id, save per answer)
+ * - batched: AnswerSubmissionService.saveOrUpdate
+ * Needs the application's MySQL database (same configuration as the app). The "statements" and "submissions"
+ * counters are iteration totals; statements / submissions is the number of round trips per submission.
+ * With existingAnswers=false every submission is a first submission (inserts); with true it is a resubmission (updates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnswerSubmissionBenchmark {
+
+    @Param({"5", "50", "200"})
+    public int formSize;
+
+    @Param({"false", "true"})
+    public boolean existingAnswers;
+
+    private ConfigurableApplicationContext context;
+    private AnswerSubmissionService answerSubmissionService;
+    private AnswerRepository answerRepository;
+    private UserRepository userRepository;
+    private QuestionRepository questionRepository;
+    private User user;
+    private Form form;
+    private List<Question> questions;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long statements;
+        public long submissions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            submissions = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false");
+        answerSubmissionService = context.getBean(AnswerSubmissionService.class);
+        answerRepository = context.getBean(AnswerRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        questionRepository = context.getBean(QuestionRepository.class);
+        FormRepository formRepository = context.getBean(FormRepository.class);
+
+        String suffix = formSize + "-" + System.nanoTime();
+        user = new User();
+        user.setUsername("bench-" + suffix);
+        user.setPassword("not-a-real-hash");
+        user = userRepository.save(user);
+
+        form = formRepository.save(new Form(null, "Benchmark form " + suffix, "Answer submission benchmark", new ArrayList<>()));
+        questions = new ArrayList<>();
+        for (int i = 0; i < formSize; i++) {
+            questions.add(questionRepository.save(new Question(null, "Question " + i, "text", form)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInvocation() {
+        if (!existingAnswers) {
+            answerRepository.deleteAllInBatch(answerRepository.findByUser_Id(user.getId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        answerRepository.deleteAllInBatch(answerRepository.findByUser_Id(user.getId()));
+        questionRepository.deleteAllInBatch(questions);
+        context.getBean(FormRepository.class).deleteById(form.getId());
+        userRepository.deleteById(user.getId());
+        context.close();
+    }
+
+    @Benchmark
+    public int legacyPerAnswer(RoundTrips roundTrips) {
+        StatementCountingInspector.reset();
+        int saved = 0;
+        for (Answer incoming : submission()) {
+            Optional<User> userOptional = userRepository.findById(incoming.getUser().getId());
+            Optional<Question> questionOptional = questionRepository.findById(incoming.getQuestion().getId());
+            Optional<Answer> existing = answerRepository.findByUser_IdAndQuestion_Id(userOptional.get().getId(), questionOptional.get().getId());
+            if (existing.isPresent()) {
+                existing.get().setResponse(incoming.getResponse());
+                answerRepository.save(existing.get());
+            } else {
+                incoming.setUser(userOptional.get());
+                incoming.setQuestion(questionOptional.get());
+                answerRepository.save(incoming);
+            }
+            saved++;
+        }
+        roundTrips.statements += StatementCountingInspector.count();
+        roundTrips.submissions++;
+        return saved;
+    }
+
+    @Benchmark
+    public int batched(RoundTrips roundTrips) {
+        StatementCountingInspector.reset();
+        int saved = answerSubmissionService.saveOrUpdate(submission()).size();
+        roundTrips.statements += StatementCountingInspector.count();
+        roundTrips.submissions++;
+        return saved;
+    }
+
+    private List<Answer> submission() {
+        List<Answer> answers = new ArrayList<>(questions.size());
+        User userRef = new User();
+        userRef.setId(user.getId());
+        for (Question question : questions) {
+            Question questionRef = new Question();
+            questionRef.setId(question.getId());
+            answers.add(new Answer(null, questionRef, userRef, "response " + System.nanoTime()));
+        }
+        return answers;
+    }
+}
@@ -6,15 +6,16 @@ import com.example.backend.model.Role;
 import com.example.backend.model.Question;
 import com.example.backend.model.User;
 import com.example.backend.model.Form;
-import com.example.backend.repository.RoleRepository;
 import com.example.backend.repository.QuestionRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.service.RoleRegistry;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
@@ -27,6 +28,7 @@ import java.util.List;
 import io.github.cdimascio.dotenv.Dotenv;
 
 @SpringBootApplication
+@EnableScheduling // Key rotation and other background jobs
 public class BackendApplication {
 
     // NEW: Static block to load .env file before Spring context initializes
@@ -53,17 +55,14 @@ public class BackendApplication {
 
     @Bean
     @Order(1) // Ensure roles and basic users are set up first
-    public CommandLineRunner initialUserAndRoleSetup(RoleRepository roleRepository,
+    public CommandLineRunner initialUserAndRoleSetup(RoleRegistry roleRegistry,
                                                      UserRepository userRepository,
                                                      PasswordEncoder passwordEncoder) {
         return args -> {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseGet(() -> roleRepository.save(new Role(null, ERole.ROLE_USER)));
-            System.out.println("Ensured ROLE_USER exists.");
-
-            Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                    .orElseGet(() -> roleRepository.save(new Role(null, ERole.ROLE_ADMIN)));
-            System.out.println("Ensured ROLE_ADMIN exists.");
+            // RoleRegistry has already created any missing roles while loading
+            Role userRole = roleRegistry.get(ERole.ROLE_USER);
+            Role adminRole = roleRegistry.get(ERole.ROLE_ADMIN);
+            System.out.println("Ensured ROLE_USER and ROLE_ADMIN exist.");
 
             if (userRepository.findByUsername("test").isEmpty()) {
                 User testUser = new User();
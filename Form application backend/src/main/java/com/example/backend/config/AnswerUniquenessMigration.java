@@ -0,0 +1,100 @@
+// src/main/java/com/example/backend/config/AnswerUniquenessMigration.java
+package com.example.backend.config;
+
+import com.example.backend.service.FormResultsRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Adds the unique (user_id, question_id) index to an existing answers table.
+ * ddl-auto=update cannot add it while duplicate answers from earlier concurrent submissions exist.
+ * Removing them deletes user data, so it only happens when backend.app.answers.removeDuplicateAnswers=true:
+ * the most recent answer (highest id) of each pair is kept, every removed row is logged, and the results
+ * rollup of the affected questions is marked dirty. With the flag off, startup fails while duplicates exist.
+ * Does nothing once the index is present.
+ */
+@Component
+public class AnswerUniquenessMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerUniquenessMigration.class);
+    public static final String INDEX_NAME = "uk_answers_user_question";
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    private static final String DUPLICATES_SQL =
+            "SELECT older.id, older.user_id, older.question_id, older.response FROM answers older " +
+            "WHERE EXISTS (SELECT 1 FROM answers newer " +
+            "WHERE newer.user_id = older.user_id AND newer.question_id = older.question_id AND newer.id > older.id) " +
+            "ORDER BY older.id FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FormResultsRollupService formResultsRollupService;
+
+    @Value("${backend.app.answers.removeDuplicateAnswers:false}")
+    private boolean removeDuplicates;
+
+    private record Duplicate(long id, long userId, long questionId, String response) {
+    }
+
+    // Depends on the EntityManagerFactory so ddl-auto has already run
+    public AnswerUniquenessMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                     PlatformTransactionManager transactionManager,
+                                     FormResultsRollupService formResultsRollupService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.formResultsRollupService = formResultsRollupService;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'answers' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        Integer removed = transactionTemplate.execute(status -> removeDuplicates());
+        jdbcTemplate.execute("ALTER TABLE answers ADD CONSTRAINT " + INDEX_NAME + " UNIQUE (user_id, question_id)");
+        logger.info("AnswerUniquenessMigration: Removed {} duplicate answer(s) and added {}.", removed, INDEX_NAME);
+    }
+
+    private int removeDuplicates() {
+        List<Duplicate> duplicates = jdbcTemplate.query(DUPLICATES_SQL, (rs, rowNum) ->
+                new Duplicate(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4)));
+        if (duplicates.isEmpty()) {
+            return 0;
+        }
+        if (!removeDuplicates) {
+            throw new IllegalStateException("AnswerUniquenessMigration: " + duplicates.size() + " duplicate answer(s) " +
+                    "prevent adding " + INDEX_NAME + ". Review them and restart with " +
+                    "backend.app.answers.removeDuplicateAnswers=true to keep only the most recent answer of each pair.");
+        }
+        Set<Long> questionIds = new TreeSet<>();
+        for (Duplicate duplicate : duplicates) {
+            // The log is the only copy of the removed rows
+            logger.warn("AnswerUniquenessMigration: Removing duplicate answer id={} user={} question={} response={}",
+                    duplicate.id(), duplicate.userId(), duplicate.questionId(), duplicate.response());
+            questionIds.add(duplicate.questionId());
+        }
+        for (int from = 0; from < duplicates.size(); from += DELETE_CHUNK_SIZE) {
+            List<Duplicate> chunk = duplicates.subList(from, Math.min(from + DELETE_CHUNK_SIZE, duplicates.size()));
+            jdbcTemplate.update("DELETE FROM answers WHERE id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")",
+                    chunk.stream().map(Duplicate::id).toArray());
+        }
+        formResultsRollupService.markDirty(questionIds);
+        return duplicates.size();
+    }
+}
@@ -0,0 +1,41 @@
+// src/main/java/com/example/backend/config/AnswerUpdatedAtIndexMigration.java
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the updated_at index from an existing answers table. It served the results rollup's old updated_at
+ * watermark, which the rollup_changes log replaced; nothing reads answers by updated_at any more, and every upsert
+ * paid to maintain it. ddl-auto=update never drops indexes, hence this. Does nothing once the index is gone.
+ */
+@Component
+public class AnswerUpdatedAtIndexMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerUpdatedAtIndexMigration.class);
+    public static final String INDEX_NAME = "idx_answers_updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so ddl-auto has already run
+    public AnswerUpdatedAtIndexMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'answers' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        if (existing == null || existing == 0) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE answers DROP INDEX " + INDEX_NAME);
+        logger.info("AnswerUpdatedAtIndexMigration: Dropped {}.", INDEX_NAME);
+    }
+}
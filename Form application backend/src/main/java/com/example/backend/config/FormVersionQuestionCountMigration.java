@@ -0,0 +1,36 @@
+// src/main/java/com/example/backend/config/FormVersionQuestionCountMigration.java
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in form_versions.question_count for versions published before the column existed, from the questions
+ * array of each version's stored document. Does nothing once every version has a count.
+ */
+@Component
+public class FormVersionQuestionCountMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormVersionQuestionCountMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so ddl-auto has already run
+    public FormVersionQuestionCountMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        int updated = jdbcTemplate.update(
+                "UPDATE form_versions SET question_count = COALESCE(JSON_LENGTH(document, '$.questions'), 0) " +
+                "WHERE question_count IS NULL");
+        if (updated > 0) {
+            logger.info("FormVersionQuestionCountMigration: Counted the questions of {} form version(s).", updated);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// src/main/java/com/example/backend/config/SequenceAligner.java
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the emulated id sequences (MySQL has no native sequences, so Hibernate keeps them in
+ * single-row tables) past the ids already in use.
+ * Entities that switched from IDENTITY to a pooled SEQUENCE keep their existing AUTO_INCREMENT rows;
+ * without this the new generator would start at 1 and collide with them.
+ * Runs before the web server starts accepting requests.
+ */
+@Component
+public class SequenceAligner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceAligner.class);
+
+    // entity table, sequence table, allocation size (must match the @SequenceGenerator)
+    private static final String[][] SEQUENCES = {
+            {"answers", "answers_seq", "50"},
+            {"question", "question_seq", "50"},
+            {"choice_options", "choice_options_seq", "50"},
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so ddl-auto has created the sequence tables first
+    public SequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (String[] sequence : SEQUENCES) {
+            String table = sequence[0];
+            String sequenceTable = sequence[1];
+            long allocationSize = Long.parseLong(sequence[2]);
+
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // The pooled optimizer hands out (next_val - allocationSize, next_val], so keep a full block of headroom
+            long floor = maxId + allocationSize + 1;
+            int updated = jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                logger.info("SequenceAligner: Moved {} to {} (max {}.id = {}).", sequenceTable, floor, table, maxId);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+// src/main/java/com/example/backend/config/StatementCountingInspector.java
+package com.example.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * With JDBC batching a whole batch is prepared once, so the count approximates database round trips.
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Resets the counter for the current thread.
+     */
+    public static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    /**
+     * @return Statements prepared on the current thread since the last reset.
+     */
+    public static long count() {
+        return COUNTER.get()[0];
+    }
+}
@@ -4,37 +4,82 @@ package com.example.backend.controller;
 import com.example.backend.model.User;
 import com.example.backend.model.Question;
 import com.example.backend.model.Answer;
+import com.example.backend.model.AnswerRecord;
+import com.example.backend.model.ArchivedAnswer;
 import com.example.backend.model.Role;
 import com.example.backend.model.ERole;
 import com.example.backend.model.Form;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.AnswerRecordRepository;
 import com.example.backend.repository.AnswerRepository;
-import com.example.backend.repository.RoleRepository;
+import com.example.backend.repository.ArchivedAnswerRepository;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.security.services.LoginRateLimiter;
+import com.example.backend.security.services.PasswordHashingLimiter;
+import com.example.backend.security.services.RefreshTokenService;
+import com.example.backend.security.services.TokenVersionRegistry;
+import com.example.backend.security.services.UserChangedEvent;
+import com.example.backend.security.services.UserDetailsServiceImpl;
+import com.example.backend.service.AnswerArchiver;
+import com.example.backend.service.AnswerAutosaveCoalescer;
+import com.example.backend.service.AnswerExportService;
+import com.example.backend.service.AnswerIngestionService;
+import com.example.backend.service.AnswerSelectionService;
+import com.example.backend.service.AnswerSnapshotService;
 import com.example.backend.service.FilterService;
+import com.example.backend.service.FormChangedEvent;
+import com.example.backend.service.FormDefinitionCache;
+import com.example.backend.service.FormImportService;
+import com.example.backend.service.FormLifecycleService;
+import com.example.backend.service.FormResultsRollupService;
+import com.example.backend.service.FormVersionService;
+import com.example.backend.service.LiveTallyService;
+import com.example.backend.service.QuestionOptionCatalog;
+import com.example.backend.service.QuestionSearchIndex;
+import com.example.backend.service.QuestionService;
+import com.example.backend.service.RoleRegistry;
+import com.example.backend.service.TotalCountService;
 import com.example.backend.dto.FilterCriteria;
+import com.example.backend.dto.FormDTO;
+import com.example.backend.dto.FormResultsDTO;
 import com.example.backend.dto.PagedResponse;
+import com.example.backend.dto.QuestionTallyDTO;
+import com.example.backend.dto.SliceResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:5173", maxAge = 3600)
 public class AdminController {
 
+    private static final int MAX_KEYSET_PAGE_SIZE = 500;
+
     @Autowired
     UserRepository userRepository;
 
@@ -45,7 +90,7 @@ public class AdminController {
     AnswerRepository answerRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder passwordEncoder;
@@ -56,27 +101,136 @@ public class AdminController {
     @Autowired
     FilterService filterService;
 
+    @Autowired
+    TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    PasswordHashingLimiter passwordHashingLimiter;
+
+    @Autowired
+    LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    AnswerIngestionService answerIngestionService;
+
+    @Autowired
+    AnswerAutosaveCoalescer answerAutosaveCoalescer;
+
+    @Autowired
+    QuestionOptionCatalog questionOptionCatalog;
+
+    @Autowired
+    AnswerSelectionService answerSelectionService;
+
+    @Autowired
+    LiveTallyService liveTallyService;
+
+    @Autowired
+    FormResultsRollupService formResultsRollupService;
+
+    @Autowired
+    AnswerExportService answerExportService;
+
+    @Autowired
+    AnswerSnapshotService answerSnapshotService;
+
+    @Autowired
+    AnswerRecordRepository answerRecordRepository;
+
+    @Autowired
+    ArchivedAnswerRepository archivedAnswerRepository;
+
+    @Autowired
+    FormLifecycleService formLifecycleService;
+
+    @Autowired
+    AnswerArchiver answerArchiver;
+
+    @Autowired
+    FormDefinitionCache formDefinitionCache;
+
+    @Autowired
+    FormVersionService formVersionService;
+
+    @Autowired
+    TotalCountService totalCountService;
+
+    @Autowired
+    QuestionService questionService;
+
+    @Autowired
+    QuestionSearchIndex questionSearchIndex;
+
+    @Autowired
+    FormImportService formImportService;
+
+    // --- METRICS ---
+
+    @GetMapping("/metrics/auth")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAuthMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("passwordHashing", passwordHashingLimiter.getStats());
+        metrics.put("rateLimiter", loginRateLimiter.getStats());
+        metrics.put("principalCache", userDetailsService.getCacheStats());
+        return ResponseEntity.ok(metrics);
+    }
+
+    @GetMapping("/metrics/answers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAnswerMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("ingestion", answerIngestionService.getStats());
+        metrics.put("autosave", answerAutosaveCoalescer.getStats());
+        metrics.put("liveTally", liveTallyService.getStats());
+        metrics.put("resultsRollup", formResultsRollupService.getStats());
+        metrics.put("archive", answerArchiver.getStats());
+        metrics.put("formDefinitions", formDefinitionCache.getStats());
+        metrics.put("listingCounts", totalCountService.getStats());
+        metrics.put("questionSearch", questionSearchIndex.getStats());
+        return ResponseEntity.ok(metrics);
+    }
+
     // --- USER MANAGEMENT WITH FILTERING ---
 
+    /**
+     * Lists users, filtered and sorted. Pages by offset by default; pass "cursor" (empty for the first page,
+     * then the previous nextCursor) for keyset paging, which returns a CursorResponse and stays fast on deep pages.
+     * "count" sets how the total of an offset page is obtained: exact (COUNT(*), the default), cached (the exact
+     * count reused for a few seconds), estimated (table statistics, unfiltered listings only) or none (a
+     * SliceResponse with hasNext instead of totals).
+     */
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<User>> getAllUsers(
+    public ResponseEntity<?> getAllUsers(
             @RequestParam Map<String, String> params,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count) {
 
         // Parse filters from request parameters
         List<FilterCriteria> filters = filterService.parseFilters(params);
+        if (cursor != null) {
+            return keysetPage(User.class, filters, cursor, size, sortBy, sortDirection);
+        }
 
         // Create pageable with sorting
         Pageable pageable = filterService.createPageable(page, size, sortBy, sortDirection);
 
         // Get filtered results
-        Page<User> userPage = filterService.getFilteredResults(userRepository, filters, pageable);
-
-        return ResponseEntity.ok(new PagedResponse<>(userPage));
+        return offsetPage(User.class, userRepository, filters, pageable, count);
     }
 
     @PostMapping("/users")
@@ -92,25 +246,26 @@ public class AdminController {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         Set<Role> roles = new HashSet<>();
         if (user.getRoles() == null || user.getRoles().isEmpty()) {
-            roleRepository.findByName(ERole.ROLE_USER).ifPresent(roles::add);
+            roles.add(roleRegistry.get(ERole.ROLE_USER));
         } else {
             user.getRoles().forEach(role -> {
                 if (role.getName() != null) {
                     switch (role.getName()) {
                         case ROLE_ADMIN:
-                            roleRepository.findByName(ERole.ROLE_ADMIN).ifPresent(roles::add);
+                            roles.add(roleRegistry.get(ERole.ROLE_ADMIN));
                             break;
                         case ROLE_USER:
-                            roleRepository.findByName(ERole.ROLE_USER).ifPresent(roles::add);
+                            roles.add(roleRegistry.get(ERole.ROLE_USER));
                             break;
                         default:
-                            roleRepository.findByName(ERole.ROLE_USER).ifPresent(roles::add);
+                            roles.add(roleRegistry.get(ERole.ROLE_USER));
                     }
                 }
             });
         }
         user.setRoles(roles);
         User newUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(newUser.getId(), newUser.getUsername()));
         return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
     }
 
@@ -119,24 +274,31 @@ public class AdminController {
     public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         return userRepository.findById(id)
                 .map(user -> {
+                    String previousUsername = user.getUsername();
                     user.setUsername(userDetails.getUsername());
                     if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
                         user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+                        // A password change signs the user out everywhere
+                        refreshTokenService.revokeAllForUser(id);
                     }
 
                     Set<Role> newRoles = new HashSet<>();
                     if (userDetails.getRoles() != null && !userDetails.getRoles().isEmpty()) {
                         userDetails.getRoles().forEach(role -> {
                             if (role.getName() != null) {
-                                roleRepository.findByName(role.getName()).ifPresent(newRoles::add);
+                                newRoles.add(roleRegistry.get(role.getName()));
                             }
                         });
                     } else {
-                        roleRepository.findByName(ERole.ROLE_USER).ifPresent(newRoles::add);
+                        newRoles.add(roleRegistry.get(ERole.ROLE_USER));
                     }
                     user.setRoles(newRoles);
+                    // Username, password or roles may have changed: revoke tokens issued before this update
+                    user.setTokenVersion(user.getTokenVersion() + 1);
 
                     User updatedUser = userRepository.save(user);
+                    tokenVersionRegistry.update(updatedUser.getId(), updatedUser.getTokenVersion());
+                    eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), previousUsername));
                     return ResponseEntity.ok(updatedUser);
                 }).orElse(new ResponseEntity<User>(HttpStatus.NOT_FOUND));
     }
@@ -144,29 +306,42 @@ public class AdminController {
     @DeleteMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HttpStatus> deleteUser(@PathVariable Long id) {
-        if (!userRepository.existsById(id)) {
+        Optional<String> username = userRepository.findById(id).map(User::getUsername);
+        if (username.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        refreshTokenService.revokeAllForUser(id);
+        List<Long> answeredQuestionIds = answerRecordRepository.findQuestionIdsByUserId(id);
         userRepository.deleteById(id);
+        // Only after the delete has committed, or a refresh in between could consume the mark and miss the delete
+        formResultsRollupService.markDirty(answeredQuestionIds);
+        tokenVersionRegistry.revoke(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, username.get())); // The username lets in-flight loads see the eviction
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     // --- FORM MANAGEMENT WITH FILTERING ---
 
+    /**
+     * Lists forms, filtered and sorted; "cursor" and "count" work as for /users.
+     */
     @GetMapping("/forms")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<Form>> getAllFormsAdmin(
+    public ResponseEntity<?> getAllFormsAdmin(
             @RequestParam Map<String, String> params,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count) {
 
         List<FilterCriteria> filters = filterService.parseFilters(params);
+        if (cursor != null) {
+            return keysetPage(Form.class, filters, cursor, size, sortBy, sortDirection);
+        }
         Pageable pageable = filterService.createPageable(page, size, sortBy, sortDirection);
-        Page<Form> formPage = filterService.getFilteredResults(formRepository, filters, pageable);
-
-        return ResponseEntity.ok(new PagedResponse<>(formPage));
+        return offsetPage(Form.class, formRepository, filters, pageable, count);
     }
 
     @PostMapping("/forms")
@@ -179,9 +354,51 @@ public class AdminController {
             return new ResponseEntity<>(HttpStatus.CONFLICT);
         }
         Form newForm = formRepository.save(form);
+        eventPublisher.publishEvent(new FormChangedEvent(newForm.getId()));
         return ResponseEntity.status(HttpStatus.CREATED).body(newForm);
     }
 
+    /**
+     * Creates a form with all its questions in one transaction (see FormImportService).
+     * The body has the shape of GET /api/forms/{id}/definition; question IDs are ignored.
+     * The response reports the created rows and the number of SQL statements executed.
+     */
+    @PostMapping(value = "/forms/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importForm(@RequestBody FormDTO definition) {
+        return importResponse(() -> formImportService.importForm(definition));
+    }
+
+    /**
+     * CSV variant of /forms/import: a header row (questionText, type, options, maxSelections) and one
+     * question per line, with options separated by "|".
+     */
+    @PostMapping(value = "/forms/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importFormCsv(@RequestParam String title,
+                                           @RequestParam(required = false) String description,
+                                           @RequestBody String csv) {
+        return importResponse(() -> formImportService.importForm(formImportService.parseCsv(title, description, csv)));
+    }
+
+    /**
+     * Copies a form and its draft questions into a new draft form.
+     * @param title The title of the copy; defaults to "&lt;title&gt; (copy)".
+     */
+    @PostMapping("/forms/{id}/clone")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> cloneForm(@PathVariable Long id, @RequestParam(required = false) String title) {
+        try {
+            return formImportService.cloneForm(id, title)
+                    .<ResponseEntity<?>>map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Error: A form with this title already exists."));
+        }
+    }
+
     @PutMapping("/forms/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Form> updateForm(@PathVariable Long id, @RequestBody Form formDetails) {
@@ -190,10 +407,114 @@ public class AdminController {
                     form.setTitle(formDetails.getTitle());
                     form.setDescription(formDetails.getDescription());
                     Form updatedForm = formRepository.save(form);
+                    eventPublisher.publishEvent(new FormChangedEvent(id));
                     return ResponseEntity.ok(updatedForm);
                 }).orElse(new ResponseEntity<Form>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Per-option selection counts for every radio/checkbox question of a form.
+     * Counts come from a GROUP BY over answer_selections; answer texts are not scanned.
+     */
+    @GetMapping("/forms/{formId}/tally")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<QuestionTallyDTO>> getFormTally(@PathVariable Long formId) {
+        if (!formRepository.existsById(formId)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(answerSelectionService.tallyForm(formId));
+    }
+
+    /**
+     * Live per-option counts for a form, served from in-memory counters (see LiveTallyService).
+     * Never queries the answers table.
+     */
+    @GetMapping("/forms/{formId}/live-results")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<QuestionTallyDTO>> getFormLiveResults(@PathVariable Long formId) {
+        if (!formRepository.existsById(formId)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(liveTallyService.liveResults(formId));
+    }
+
+    /**
+     * Aggregated results for a form (responses per question, option distribution, respondents),
+     * served from the rollup tables maintained by FormResultsRollupService. Lags live data by up to one refresh interval.
+     */
+    @GetMapping("/forms/{id}/results")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FormResultsDTO> getFormResults(@PathVariable Long id) {
+        if (!formRepository.existsById(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(formResultsRollupService.results(id));
+    }
+
+    /**
+     * Closes a form: it stops accepting answers and its answers are moved to the archive tier in the background.
+     */
+    @PostMapping("/forms/{id}/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Form> closeForm(@PathVariable Long id) {
+        return formLifecycleService.close(id)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Reopens a closed form. Archived answers are moved back first; the form accepts answers once archivedAt is cleared.
+     */
+    @PostMapping("/forms/{id}/reopen")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Form> reopenForm(@PathVariable Long id) {
+        return formLifecycleService.reopen(id)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Publishes the current draft of a form (its questions as edited in place) as a new immutable version.
+     * Respondents are served the published version; publishing an unchanged draft returns the current version.
+     */
+    @PostMapping("/forms/{id}/publish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> publishForm(@PathVariable Long id) {
+        try {
+            return formVersionService.publish(id)
+                    .<ResponseEntity<?>>map(version -> ResponseEntity.ok(Map.of(
+                            "formId", id,
+                            "versionId", version.getId(),
+                            "versionNumber", version.getVersionNumber(),
+                            "publishedAt", version.getPublishedAt())))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (DataIntegrityViolationException e) {
+            // Another publish of the same form took the version number first
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Error: The form is being published concurrently."));
+        }
+    }
+
+    /**
+     * Published versions of a form, newest first.
+     */
+    @GetMapping("/forms/{id}/versions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getFormVersions(@PathVariable Long id) {
+        if (!formRepository.existsById(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        List<Map<String, Object>> versions = new ArrayList<>();
+        for (Object[] row : formVersionService.history(id)) {
+            Map<String, Object> version = new LinkedHashMap<>();
+            version.put("versionId", row[0]);
+            version.put("formId", row[1]);
+            version.put("versionNumber", row[2]);
+            version.put("publishedAt", row[3]);
+            versions.add(version);
+        }
+        return ResponseEntity.ok(versions);
+    }
+
     @DeleteMapping("/forms/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HttpStatus> deleteForm(@PathVariable Long id) {
@@ -201,20 +522,35 @@ public class AdminController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
         formRepository.deleteById(id);
+        eventPublisher.publishEvent(new FormChangedEvent(id));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     // --- QUESTION MANAGEMENT WITH FILTERING ---
 
+    /**
+     * Searches the questions of all forms (see QuestionSearchIndex); each hit carries its form ID.
+     */
+    @GetMapping("/questions/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PagedResponse<QuestionSearchIndex.Hit>> searchAllQuestions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(new PagedResponse<>(questionService.searchAllQuestions(q, page, size)));
+    }
+
     @GetMapping("/forms/{formId}/questions")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<Question>> getQuestionsByFormId(
+    public ResponseEntity<?> getQuestionsByFormId(
             @PathVariable Long formId,
             @RequestParam Map<String, String> params,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count) {
 
         Optional<Form> formOptional = formRepository.findById(formId);
         if (formOptional.isEmpty()) {
@@ -224,11 +560,13 @@ public class AdminController {
         // Add form filter to existing filters
         List<FilterCriteria> filters = filterService.parseFilters(params);
         filters.add(new FilterCriteria("form.id", "eq", formId));
+        filters.add(new FilterCriteria("removed", "eq", false));
+        if (cursor != null) {
+            return keysetPage(Question.class, filters, cursor, size, sortBy, sortDirection);
+        }
 
         Pageable pageable = filterService.createPageable(page, size, sortBy, sortDirection);
-        Page<Question> questionPage = filterService.getFilteredResults(questionRepository, filters, pageable);
-
-        return ResponseEntity.ok(new PagedResponse<>(questionPage));
+        return offsetPage(Question.class, questionRepository, filters, pageable, count);
     }
 
     @PostMapping("/forms/{formId}/questions")
@@ -240,13 +578,15 @@ public class AdminController {
         }
         question.setForm(formOptional.get());
         Question newQuestion = questionRepository.save(question);
+        questionOptionCatalog.syncOptions(newQuestion);
+        eventPublisher.publishEvent(new FormChangedEvent(formId));
         return ResponseEntity.status(HttpStatus.CREATED).body(newQuestion);
     }
 
     @PutMapping("/forms/{formId}/questions/{questionId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Question> updateQuestionForForm(@PathVariable Long formId, @PathVariable Long questionId, @RequestBody Question questionDetails) {
-        Optional<Question> questionOptional = questionRepository.findById(questionId);
+        Optional<Question> questionOptional = questionService.getQuestionById(questionId);
         if (questionOptional.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -261,13 +601,15 @@ public class AdminController {
         question.setMaxSelections(questionDetails.getMaxSelections());
 
         Question updatedQuestion = questionRepository.save(question);
+        questionOptionCatalog.syncOptions(updatedQuestion);
+        eventPublisher.publishEvent(new FormChangedEvent(formId));
         return ResponseEntity.ok(updatedQuestion);
     }
 
     @DeleteMapping("/forms/{formId}/questions/{questionId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HttpStatus> deleteQuestionFromForm(@PathVariable Long formId, @PathVariable Long questionId) {
-        Optional<Question> questionOptional = questionRepository.findById(questionId);
+        Optional<Question> questionOptional = questionService.getQuestionById(questionId);
         if (questionOptional.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -275,32 +617,109 @@ public class AdminController {
         if (question.getForm() == null || !question.getForm().getId().equals(formId)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        questionRepository.deleteById(questionId);
+        questionService.deleteQuestion(questionId); // Only marked removed once the form has been published
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     // --- ANSWER MANAGEMENT WITH FILTERING ---
 
+    /**
+     * Lists answers, filtered and sorted; "cursor" and "count" work as for /users.
+     * @param archived Which tier to list: "false" (default) the live answers table only, "true" the archived answers
+     *                 of closed forms only, "all" both (a UNION of the two tables, so noticeably slower on large tables).
+     */
     @GetMapping("/answers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<Answer>> getAllAnswers(
+    public ResponseEntity<?> getAllAnswers(
             @RequestParam Map<String, String> params,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "false") String archived) {
 
         List<FilterCriteria> filters = filterService.parseFilters(params);
         Pageable pageable = filterService.createPageable(page, size, sortBy, sortDirection);
-        Page<Answer> answerPage = filterService.getFilteredResults(answerRepository, filters, pageable);
+        switch (archived.trim().toLowerCase(Locale.ROOT)) {
+            case "false":
+                return cursor != null ? keysetPage(Answer.class, filters, cursor, size, sortBy, sortDirection)
+                        : offsetPage(Answer.class, answerRepository, filters, pageable, count);
+            case "true":
+                return cursor != null ? keysetPage(ArchivedAnswer.class, filters, cursor, size, sortBy, sortDirection)
+                        : offsetPage(ArchivedAnswer.class, archivedAnswerRepository, filters, pageable, count);
+            case "all":
+                return cursor != null ? keysetPage(AnswerRecord.class, filters, cursor, size, sortBy, sortDirection)
+                        : offsetPage(AnswerRecord.class, answerRecordRepository, filters, pageable, count);
+            default:
+                return ResponseEntity.badRequest().body(Map.of("message", "Error: archived must be true, false or all."));
+        }
+    }
+
+    /**
+     * Streams all answers of a form, one row per respondent, without loading them into memory
+     * (see AnswerExportService). Use this instead of paging through /answers for full exports.
+     * @param format "csv" (one column per question) or "ndjson".
+     * @param gzip Whether to gzip the download.
+     */
+    @GetMapping("/forms/{id}/answers/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportFormAnswers(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "csv") String format,
+                                                                   @RequestParam(defaultValue = "false") boolean gzip) {
+        if (!formRepository.existsById(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        AnswerExportService.Format exportFormat;
+        try {
+            exportFormat = AnswerExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        String filename = "form-" + id + "-answers." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> answerExportService.export(id, exportFormat, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Writes (or replaces) the columnar snapshot of a form's answers on local disk (see AnswerSnapshotService).
+     * Meant for closed forms that are analysed repeatedly; download it from GET /forms/{id}/snapshot.
+     */
+    @PostMapping("/forms/{id}/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createFormSnapshot(@PathVariable Long id) {
+        if (!formRepository.existsById(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(answerSnapshotService.writeSnapshot(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "Error: Could not write snapshot."));
+        }
+    }
 
-        return ResponseEntity.ok(new PagedResponse<>(answerPage));
+    @GetMapping("/forms/{id}/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> downloadFormSnapshot(@PathVariable Long id) {
+        return answerSnapshotService.snapshotFile(id)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                        .<Resource>body(new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/answers")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Answer>> createAnswer(@RequestBody List<Answer> answers) {
         List<Answer> newAnswers = answerRepository.saveAll(answers);
+        answerSelectionService.syncSelections(newAnswers);
         return ResponseEntity.status(HttpStatus.CREATED).body(newAnswers);
     }
 
@@ -311,6 +730,7 @@ public class AdminController {
                 .map(answer -> {
                     answer.setResponse(answerDetails.getResponse());
                     Answer updatedAnswer = answerRepository.save(answer);
+                    answerSelectionService.syncSelections(List.of(updatedAnswer));
                     return ResponseEntity.ok(updatedAnswer);
                 }).orElse(new ResponseEntity<Answer>(HttpStatus.NOT_FOUND));
     }
@@ -318,10 +738,54 @@ public class AdminController {
     @DeleteMapping("/answers/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HttpStatus> deleteAnswer(@PathVariable Long id) {
-        if (!answerRepository.existsById(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        Optional<Answer> answer = answerRepository.findById(id);
+        if (answer.isEmpty()) {
+            // Answers of closed forms are read-only; reopen the form to change them
+            return new ResponseEntity<>(archivedAnswerRepository.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND);
         }
+        answerSelectionService.clearSelections(id);
         answerRepository.deleteById(id);
+        formResultsRollupService.markDirty(List.of(answer.get().getQuestion().getId())); // After the delete, as for users
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+    // Keyset listing shared by /users, /forms and /answers; a bad cursor or sort field is a 400
+    private <T> ResponseEntity<?> keysetPage(Class<T> type, List<FilterCriteria> filters, String cursor,
+                                            int size, String sortBy, String sortDirection) {
+        try {
+            int pageSize = Math.min(Math.max(size, 1), MAX_KEYSET_PAGE_SIZE);
+            return ResponseEntity.ok(filterService.getFilteredResultsAfter(type, filters, cursor, pageSize, sortBy, sortDirection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Offset listing shared by /users, /forms, /questions and /answers; an unknown count mode is a 400
+    private <T> ResponseEntity<?> offsetPage(Class<T> type, JpaSpecificationExecutor<T> repository,
+                                            List<FilterCriteria> filters, Pageable pageable, String count) {
+        TotalCountService.Mode mode;
+        try {
+            mode = TotalCountService.Mode.parse(count);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        return switch (mode) {
+            case EXACT -> ResponseEntity.ok(new PagedResponse<>(filterService.getFilteredResults(repository, filters, pageable)));
+            case NONE -> ResponseEntity.ok(new SliceResponse<>(filterService.getFilteredSlice(type, filters, pageable)));
+            case CACHED, ESTIMATED -> ResponseEntity.ok(filterService.getFilteredPage(type, filters, pageable, mode));
+        };
+    }
+
+    // Import responses: 201 with the result, 400 for an invalid definition, 409 for a taken title
+    private ResponseEntity<?> importResponse(Supplier<FormImportService.ImportResult> importer) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(importer.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Error: A form with this title already exists."));
+        }
+    }
+}
@@ -2,113 +2,168 @@
 package com.example.backend.controller;
 
 import com.example.backend.model.Answer;
-import com.example.backend.model.User; // Import User model
-import com.example.backend.model.Question; // Import Question model
+import com.example.backend.dto.PagedResponse;
 import com.example.backend.repository.AnswerRepository;
-import com.example.backend.repository.UserRepository; // Import UserRepository
-import com.example.backend.repository.QuestionRepository; // Import QuestionRepository
+import com.example.backend.repository.AnswerView;
+import com.example.backend.payload.request.AutosaveRequest;
+import com.example.backend.security.services.UserDetailsImpl;
+import com.example.backend.service.AnswerAutosaveCoalescer;
+import com.example.backend.service.AnswerIngestionService;
+import com.example.backend.service.AnswerSubmissionService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication; // Import Authentication
 import org.springframework.security.core.context.SecurityContextHolder; // Import SecurityContextHolder
-import org.springframework.security.core.userdetails.UserDetails; // Import UserDetails
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/answers")
 @CrossOrigin(origins = "http://localhost:5173", maxAge = 3600)
 public class AnswerController {
 
+    private static final int MAX_MY_ANSWERS_PAGE_SIZE = 200;
+
     private final AnswerRepository answerRepo;
-    private final UserRepository userRepository; // Inject UserRepository
-    private final QuestionRepository questionRepository; // Inject QuestionRepository
+    private final AnswerSubmissionService answerSubmissionService;
+    private final AnswerIngestionService answerIngestionService;
+    private final AnswerAutosaveCoalescer answerAutosaveCoalescer;
 
-    public AnswerController(AnswerRepository answerRepo, UserRepository userRepository, QuestionRepository questionRepository) {
+    public AnswerController(AnswerRepository answerRepo,
+                            AnswerSubmissionService answerSubmissionService, AnswerIngestionService answerIngestionService,
+                            AnswerAutosaveCoalescer answerAutosaveCoalescer) {
         this.answerRepo = answerRepo;
-        this.userRepository = userRepository;
-        this.questionRepository = questionRepository;
+        this.answerSubmissionService = answerSubmissionService;
+        this.answerIngestionService = answerIngestionService;
+        this.answerAutosaveCoalescer = answerAutosaveCoalescer;
     }
 
     /**
      * Handles submission of answers, performing an upsert (update or insert).
-     * For each answer in the list, it checks if the user has already answered that question.
-     * If yes, it updates the existing answer; otherwise, it creates a new one.
+     * If the user has already answered a question, the existing answer is updated; otherwise a new one is created.
+     * The whole submission is resolved with a few IN queries and written with batched inserts/updates
+     * (see AnswerSubmissionService).
+     * In queued ingestion mode the submission is only appended to the durable answer log and 202 Accepted is
+     * returned with a receipt; poll /api/answers/receipts/{receiptId} for the outcome.
      * This endpoint requires authentication (USER or ADMIN role).
      * @param answers A list of Answer objects to be saved or updated.
-     * @return ResponseEntity containing the list of saved/updated Answer objects.
+     * @return ResponseEntity containing the list of saved/updated Answer objects, or the receipt in queued mode.
      */
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Answer>> saveOrUpdateAnswers(@RequestBody List<Answer> answers) {
-        List<Answer> savedAnswers = new ArrayList<>();
-        for (Answer incomingAnswer : answers) {
-            // Ensure User and Question objects are properly linked
-            Optional<User> userOptional = userRepository.findById(incomingAnswer.getUser().getId());
-            Optional<Question> questionOptional = questionRepository.findById(incomingAnswer.getQuestion().getId());
-
-            if (userOptional.isEmpty() || questionOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body(null); // Or handle more specific error
+    public ResponseEntity<?> saveOrUpdateAnswers(@RequestBody List<Answer> answers) {
+        try {
+            discardAutosaves(answers); // The full submission supersedes pending autosaves
+            if (answerIngestionService.isQueued()) {
+                return ResponseEntity.accepted().body(answerIngestionService.submit(answers));
             }
+            return ResponseEntity.ok(answerSubmissionService.saveOrUpdate(answers));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage())); // Unknown user/question or too many selections
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
 
-            User user = userOptional.get();
-            Question question = questionOptional.get();
-
-            // Check if an answer for this user and question already exists
-            Optional<Answer> existingAnswer = answerRepo.findByUser_IdAndQuestion_Id(user.getId(), question.getId());
-
-            if (existingAnswer.isPresent()) {
-                // Update existing answer
-                Answer answerToUpdate = existingAnswer.get();
-                answerToUpdate.setResponse(incomingAnswer.getResponse());
-                savedAnswers.add(answerRepo.save(answerToUpdate));
-            } else {
-                // Create new answer
-                incomingAnswer.setUser(user); // Ensure the full User object is set
-                incomingAnswer.setQuestion(question); // Ensure the full Question object is set
-                savedAnswers.add(answerRepo.save(incomingAnswer));
+    /**
+     * Autosaves a single answer while the user is still editing the form.
+     * Edits are coalesced in memory and only the latest value per question is written, once per flush window
+     * (see AnswerAutosaveCoalescer). The answer is always saved for the authenticated user.
+     * This endpoint requires authentication (USER or ADMIN role).
+     * @param request The question ID, the current response and the form version being answered.
+     * @return 202 Accepted, 400 if the response is too long, or 429 if too many edits are pending for this user.
+     */
+    @PatchMapping("/autosave")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> autosaveAnswer(@Valid @RequestBody AutosaveRequest request) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        try {
+            if (!answerAutosaveCoalescer.record(userDetails.getId(), request.getQuestionId(), request.getResponse(),
+                    request.getFormVersionId())) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("message", "Error: Too many unsaved answers."));
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
-        return ResponseEntity.ok(savedAnswers);
+        return ResponseEntity.accepted().build();
     }
 
     /**
-     * Fetches all answers for the currently authenticated user.
+     * Status of a submission accepted in queued ingestion mode.
+     * Receipts are kept in memory for a while after they are applied or rejected.
+     * @param receiptId The receipt id returned by POST /api/answers.
+     * @return The receipt, or 404 if it is unknown or has expired.
+     */
+    @GetMapping("/receipts/{receiptId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<AnswerIngestionService.Receipt> getReceipt(@PathVariable String receiptId) {
+        return answerIngestionService.getReceipt(receiptId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Fetches the answers of the currently authenticated user.
+     * With formId, returns one page of (questionId, response) projections for that form, optionally limited to
+     * the questions currently shown (questionIds); this is what the form page uses to pre-fill its answers.
+     * Without formId, returns every answer of the user with its question (used by the answers sidebar).
      * This endpoint requires authentication (USER or ADMIN role).
-     * @return A list of Answer objects for the current user.
+     * @param formId The form to scope the answers to (optional).
+     * @param questionIds The questions to return answers for (optional, only with formId).
+     * @param page The page number (0-based, only with formId).
+     * @param size The page size (only with formId, at most MAX_MY_ANSWERS_PAGE_SIZE).
+     * @return A paged response of AnswerView, or a list of Answer objects when no formId is given.
      */
     @GetMapping("/my-answers") // New endpoint for user-specific answers
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Answer>> getMyAnswers() {
+    public ResponseEntity<?> getMyAnswers(@RequestParam(required = false) Long formId,
+                                          @RequestParam(required = false) List<Long> questionIds,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "50") int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
+        Long userId = userDetails.getId(); // The principal already carries the id, no user lookup needed
 
-        // Assuming UserDetailsImpl holds the user ID
-        // If your UserDetailsImpl doesn't have getId(), you might need to fetch it from UserRepository by username
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        // Assuming your UserDetailsImpl has a method like getUserId() or username is the ID
-        // For simplicity, let's assume username is sufficient to find the user from the repo
-        Optional<User> userOptional = userRepository.findByUsername(userDetails.getUsername());
-
-        if (userOptional.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        answerAutosaveCoalescer.flushUser(userId); // Read your own autosaves
+        if (formId == null) {
+            return ResponseEntity.ok(answerRepo.findByUser_Id(userId));
         }
 
-        List<Answer> userAnswers = answerRepo.findByUser_Id(userOptional.get().getId());
-        return ResponseEntity.ok(userAnswers);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_MY_ANSWERS_PAGE_SIZE));
+        Page<AnswerView> answers = questionIds == null || questionIds.isEmpty()
+                ? answerRepo.findViewsByUserIdAndFormId(userId, formId, pageable)
+                : answerRepo.findViewsByUserIdAndFormIdAndQuestionIds(userId, formId, questionIds, pageable);
+        return ResponseEntity.ok(new PagedResponse<>(answers));
     }
 
     // Existing getAll endpoint (can be kept for admin or removed if not needed)
+    // Loads every answer into memory; for full exports use GET /api/admin/forms/{id}/answers/export
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')") // Restrict this endpoint to ADMIN only for full list
     public ResponseEntity<List<Answer>> getAll() {
         List<Answer> allAnswers = answerRepo.findAll();
         return ResponseEntity.ok(allAnswers);
     }
+
+    private void discardAutosaves(List<Answer> answers) {
+        Map<Long, List<Long>> questionIdsByUser = new HashMap<>();
+        for (Answer answer : answers) {
+            if (answer.getUser() != null && answer.getUser().getId() != null
+                    && answer.getQuestion() != null && answer.getQuestion().getId() != null) {
+                questionIdsByUser.computeIfAbsent(answer.getUser().getId(), id -> new ArrayList<>()).add(answer.getQuestion().getId());
+            }
+        }
+        questionIdsByUser.forEach(answerAutosaveCoalescer::discard);
+    }
 }
@@ -6,14 +6,25 @@ import com.example.backend.model.Role;
 import com.example.backend.model.User;
 import com.example.backend.payload.request.LoginRequest;
 import com.example.backend.payload.request.SignupRequest;
+import com.example.backend.payload.request.TokenRefreshRequest;
 import com.example.backend.payload.response.JwtResponse;
 import com.example.backend.payload.response.MessageResponse;
-import com.example.backend.repository.RoleRepository;
+import com.example.backend.payload.response.TokenRefreshResponse;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.jwt.JwtUtils;
+import com.example.backend.security.services.AuthThrottledException;
+import com.example.backend.security.services.LoginRateLimiter;
+import com.example.backend.security.services.PasswordHashingLimiter;
+import com.example.backend.security.services.RefreshTokenService;
+import com.example.backend.security.services.UserChangedEvent;
 import com.example.backend.security.services.UserDetailsImpl;
+import com.example.backend.service.RoleRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -39,7 +50,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -47,11 +58,30 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    PasswordHashingLimiter passwordHashingLimiter;
+
+    @Autowired
+    LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    @PostMapping("/signin")
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+
+        Authentication authentication;
+        try {
+            loginRateLimiter.acquire(request.getRemoteAddr(), loginRequest.getUsername());
+            // BCrypt verification waits for one of the limited hashing slots, so logins cannot take every CPU
+            authentication = passwordHashingLimiter.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())));
+        } catch (AuthThrottledException e) {
+            return tooManyRequests(e);
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -61,14 +91,44 @@ public class AuthController {
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
+        String refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
+
         return ResponseEntity.ok(new JwtResponse(jwt,
+                refreshToken,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 roles));
     }
 
+    /**
+     * Exchanges a refresh token for a new short-lived access token and a new refresh token.
+     * The presented refresh token is consumed, so each one can be used only once.
+     * No password check happens here, which keeps this path far cheaper than /signin.
+     */
+    @PostMapping("/refreshtoken")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(new TokenRefreshResponse(
+                        jwtUtils.generateTokenFromUserDetails(rotation.userDetails()),
+                        rotation.refreshToken())))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse("Error: Refresh token is invalid or expired. Please sign in again.")));
+    }
+
+    @PostMapping("/signout")
+    public ResponseEntity<?> logoutUser(@Valid @RequestBody TokenRefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.ok(new MessageResponse("Signed out successfully!"));
+    }
+
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest, HttpServletRequest request) {
+        try {
+            loginRateLimiter.acquire(request.getRemoteAddr(), signUpRequest.getUsername());
+        } catch (AuthThrottledException e) {
+            return tooManyRequests(e);
+        }
         if (userRepository.existsByUsername(signUpRequest.getUsername())) {
             return ResponseEntity
                     .badRequest()
@@ -78,34 +138,40 @@ public class AuthController {
         // Create new user's account using no-arg constructor and setters
         User user = new User(); // Use the constructor generated by @NoArgsConstructor
         user.setUsername(signUpRequest.getUsername()); // Set the username
-        user.setPassword(encoder.encode(signUpRequest.getPassword())); // Encode and set the password
+        try {
+            // Encode and set the password once a hashing slot is free
+            user.setPassword(passwordHashingLimiter.execute(() -> encoder.encode(signUpRequest.getPassword())));
+        } catch (AuthThrottledException e) {
+            return tooManyRequests(e);
+        }
 
         Set<String> strRoles = signUpRequest.getRole();
         Set<Role> roles = new HashSet<>();
 
         if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
+            roles.add(roleRegistry.get(ERole.ROLE_USER));
         } else {
             strRoles.forEach(role -> {
                 switch (role) {
                     case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
+                        roles.add(roleRegistry.get(ERole.ROLE_ADMIN));
                         break;
                     default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
+                        roles.add(roleRegistry.get(ERole.ROLE_USER));
                 }
             });
         }
 
         user.setRoles(roles); // Set the roles after the user object is created
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getUsername()));
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<MessageResponse> tooManyRequests(AuthThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+}
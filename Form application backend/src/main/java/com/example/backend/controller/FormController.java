@@ -1,25 +1,50 @@
 // src/main/java/com/example/backend/controller/FormController.java
 package com.example.backend.controller;
 
+import com.example.backend.dto.PagedResponse;
 import com.example.backend.model.Form;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.FormSummary;
+import com.example.backend.service.FormCatalogVersion;
+import com.example.backend.service.FormChangedEvent;
+import com.example.backend.service.FormDefinitionCache;
+import com.example.backend.service.FormVersionService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/forms")
 @CrossOrigin(origins = "http://localhost:5173", maxAge = 3600)
 public class FormController {
 
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
     private final FormRepository formRepository;
+    private final FormCatalogVersion formCatalogVersion;
+    private final FormDefinitionCache formDefinitionCache;
+    private final FormVersionService formVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FormController(FormRepository formRepository) {
+    public FormController(FormRepository formRepository, FormCatalogVersion formCatalogVersion,
+                          FormDefinitionCache formDefinitionCache, FormVersionService formVersionService,
+                          ApplicationEventPublisher eventPublisher) {
         this.formRepository = formRepository;
+        this.formCatalogVersion = formCatalogVersion;
+        this.formDefinitionCache = formDefinitionCache;
+        this.formVersionService = formVersionService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,6 +58,34 @@ public class FormController {
         return ResponseEntity.ok(forms);
     }
 
+    /**
+     * Get one page of published form summaries (id, title, description, question count, published version ID).
+     * Accessible by USER or ADMIN.
+     * The response carries an ETag derived from the form catalog version; a request whose If-None-Match still
+     * matches is answered with 304 Not Modified after a single version lookup, before the list query runs.
+     * @param page The page number (0-based).
+     * @param size The page size (at most MAX_SUMMARY_PAGE_SIZE).
+     * @return A paged response of form summaries, or 304 Not Modified.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<PagedResponse<FormSummary>> getFormSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), MAX_SUMMARY_PAGE_SIZE);
+        String etag = formCatalogVersion.etag(page + "-" + size);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate(); // Always revalidate, never in shared caches
+
+        if (matches(ifNoneMatch, etag, false)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        PagedResponse<FormSummary> summaries = new PagedResponse<>(
+                formRepository.findSummaries(PageRequest.of(page, size, Sort.by("id"))));
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(summaries);
+    }
+
     /**
      * Get a single form by ID. Accessible by USER or ADMIN.
      * @param id The ID of the form.
@@ -46,6 +99,63 @@ public class FormController {
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Get the draft definition of a form (form, questions and options as a FormDTO, as currently edited) in one
+     * response, e.g. to preview it before publishing. Served from pre-serialized bytes with a content-hash ETag.
+     * Accessible by ADMIN only; respondents read published versions.
+     * @param id The ID of the form.
+     * @return The FormDTO JSON, 304 Not Modified, or 404 Not Found.
+     */
+    @GetMapping("/{id}/definition")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getFormDefinition(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return formDefinitionCache.get(id)
+                .map(definition -> serve(definition, CacheControl.noCache().cachePrivate(), ifNoneMatch, acceptEncoding))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Get the currently published version of a form (FormDTO with versionId and versionNumber).
+     * Clients revalidate with If-None-Match; prefer the version URL below when the version ID is known.
+     * Accessible by USER or ADMIN.
+     * @param id The ID of the form.
+     * @return The FormDTO JSON, 304 Not Modified, or 404 if the form does not exist or was never published.
+     */
+    @GetMapping("/{id}/published")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getPublishedForm(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return formVersionService.published(id)
+                .map(snapshot -> serve(snapshot.definition(), CacheControl.noCache().cachePrivate(), ifNoneMatch, acceptEncoding))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Get one published version of a form. Versions are immutable, so the response may be cached for good.
+     * Accessible by USER or ADMIN.
+     * @param id The ID of the form.
+     * @param versionId The ID of the version (FormDTO.versionId, FormSummary.publishedVersionId).
+     * @return The FormDTO JSON, or 404 if the version does not exist or belongs to another form.
+     */
+    @GetMapping("/{id}/versions/{versionId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getFormVersion(
+            @PathVariable Long id,
+            @PathVariable Long versionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return formVersionService.snapshot(versionId)
+                .filter(snapshot -> snapshot.formId().equals(id))
+                .map(snapshot -> serve(snapshot.definition(), CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate(),
+                        ifNoneMatch, acceptEncoding))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     /**
      * Create a new form. Accessible by ADMIN only.
      * @param form The form object to create.
@@ -62,6 +172,7 @@ public class FormController {
             return new ResponseEntity<>(HttpStatus.CONFLICT); // 409 Conflict if title already exists
         }
         Form savedForm = formRepository.save(form);
+        eventPublisher.publishEvent(new FormChangedEvent(savedForm.getId()));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedForm);
     }
 
@@ -82,6 +193,7 @@ public class FormController {
                     // not directly by updating the 'questions' list here to avoid N+1 issues
                     // or unexpected cascade behavior if not carefully managed.
                     Form updatedForm = formRepository.save(form);
+                    eventPublisher.publishEvent(new FormChangedEvent(id));
                     return ResponseEntity.ok(updatedForm);
                 }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
@@ -99,8 +211,41 @@ public class FormController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
         formRepository.deleteById(id);
+        eventPublisher.publishEvent(new FormChangedEvent(id));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
 
     }
+
+    // Writes pre-serialized JSON as is: gzip when the client accepts it, 304 when the client's copy is current
+    private static ResponseEntity<byte[]> serve(FormDefinitionCache.Definition definition, CacheControl cacheControl,
+                                                String ifNoneMatch, String acceptEncoding) {
+        if (matches(ifNoneMatch, definition.etag(), true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(definition.etag()).cacheControl(cacheControl).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(definition.etag())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(definition.gzip());
+        }
+        return response.body(definition.json());
+    }
+
+    // If-None-Match may list several tags, or "*". "*" only stands for a single existing resource: a collection
+    // (e.g. a page of the form list) changes with the catalog, so a client cannot hold a current copy without a tag.
+    private static boolean matches(String ifNoneMatch, String etag, boolean wildcard) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ((wildcard && tag.equals("*")) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -2,10 +2,12 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.PagedResponse;
+import com.example.backend.dto.SliceResponse;
 import com.example.backend.model.Form;
 import com.example.backend.model.Question;
 import com.example.backend.repository.FormRepository;
 import com.example.backend.service.QuestionService;
+import com.example.backend.service.TotalCountService;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -55,26 +57,49 @@ public class QuestionController {
      * @param questionLimit The number of questions per page (flexible size).
      * @param sortBy The field to sort by.
      * @param sortDirection The sort direction (asc/desc).
-     * @return ResponseEntity containing a paginated response of Question objects.
+     * @param cursor Optional keyset cursor (empty for the first page, then the previous nextCursor); when given,
+     *               a CursorResponse is returned instead, without page numbers or totals.
+     * @param count How the total is obtained, as for /api/admin/users: exact (the default), cached, estimated,
+     *              or none (a SliceResponse without totals).
+     * @return ResponseEntity containing a paginated response of Question objects, or 400 for an unknown count mode.
      */
     @GetMapping("/paginated")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<Question>> getQuestionsByFormIdPaginated(
+    public ResponseEntity<?> getQuestionsByFormIdPaginated(
             @PathVariable Long formId,
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "5") int questionLimit,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count) {
 
+        TotalCountService.Mode mode;
+        try {
+            mode = TotalCountService.Mode.parse(count);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
         Optional<Form> formOptional = formRepository.findById(formId);
         if (formOptional.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND); // Form not found
         }
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(questionService.getQuestionsByFormIdAfter(formId, cursor, questionLimit, sortBy, sortDirection));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
 
-        Page<Question> questionsPage = questionService.getQuestionsByFormId(
-                formId, pageNo, questionLimit, sortBy, sortDirection);
-        PagedResponse<Question> response = new PagedResponse<>(questionsPage);
-        return ResponseEntity.ok(response);
+        return switch (mode) {
+            case EXACT -> ResponseEntity.ok(new PagedResponse<>(questionService.getQuestionsByFormId(
+                    formId, pageNo, questionLimit, sortBy, sortDirection)));
+            case NONE -> ResponseEntity.ok(new SliceResponse<>(questionService.getQuestionsByFormIdSlice(
+                    formId, pageNo, questionLimit, sortBy, sortDirection)));
+            case CACHED, ESTIMATED -> ResponseEntity.ok(questionService.getQuestionsByFormIdPage(
+                    formId, pageNo, questionLimit, sortBy, sortDirection, mode));
+        };
     }
 
     /**
@@ -101,6 +126,31 @@ public class QuestionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint to search the questions of a form by text and options, ranked by relevance.
+     * Example: /api/forms/1/questions/search?q=email&pageNo=0&questionLimit=10
+     * @param formId The ID of the form.
+     * @param q The search terms; each must match a word of the question or its options (prefix or substring).
+     * @return ResponseEntity containing a paginated response of matching Question objects.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<PagedResponse<Question>> searchQuestions(
+            @PathVariable Long formId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "5") int questionLimit) {
+
+        Optional<Form> formOptional = formRepository.findById(formId);
+        if (formOptional.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        Page<Question> questionsPage = questionService.searchQuestionsByFormId(
+                formId, pageNo, questionLimit, "id", "asc", q);
+        return ResponseEntity.ok(new PagedResponse<>(questionsPage));
+    }
+
     /**
      * Endpoint to get a list of all questions for a specific form (original method kept for backward compatibility).
      * Accessible by 'USER' or 'ADMIN' role.
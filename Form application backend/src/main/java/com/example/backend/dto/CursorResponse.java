@@ -0,0 +1,31 @@
+// src/main/java/com/example/backend/dto/CursorResponse.java
+package com.example.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing. There is no total count and no page number:
+ * pass nextCursor back as the "cursor" parameter to get the following page.
+ */
+@Data
+@NoArgsConstructor
+public class CursorResponse<T> {
+    private List<T> content;
+    private int size;
+    private int numberOfElements;
+    private boolean hasNext;
+    private String nextCursor; // null on the last page
+    private boolean empty;
+
+    public CursorResponse(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.numberOfElements = content.size();
+        this.hasNext = nextCursor != null;
+        this.nextCursor = nextCursor;
+        this.empty = content.isEmpty();
+    }
+}
@@ -17,13 +17,22 @@ public class FormDTO {
     private String title;
     private String description;
     private List<QuestionDTO> questions;
+    // Set on published snapshots (FormVersion) only; null on a draft definition
+    private Long versionId;
+    private Integer versionNumber;
 
     public FormDTO(Form form) {
+        this(form, form.getQuestions());
+    }
+
+    // For callers that loaded the questions (and their options) themselves
+    public FormDTO(Form form, List<Question> questions) {
         this.id = form.getId();
         this.title = form.getTitle();
         this.description = form.getDescription();
-        this.questions = form.getQuestions() != null ?
-                form.getQuestions().stream()
+        this.questions = questions != null ?
+                questions.stream()
+                        .filter(q -> !q.isRemoved())
                         .map(q -> new QuestionDTO(q.getId(), q.getQuestionText(), q.getType(), q.getOptions(), q.getMaxSelections()))
                         .collect(Collectors.toList()) :
                 new ArrayList<>();
@@ -0,0 +1,20 @@
+// src/main/java/com/example/backend/dto/FormResultsDTO.java
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormResultsDTO {
+    private Long formId;
+    private long respondentCount;
+    private Instant refreshedAt; // Null until the rollup job has covered the form
+    private List<QuestionResultDTO> questions = new ArrayList<>();
+}
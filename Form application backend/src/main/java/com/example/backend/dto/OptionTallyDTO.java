@@ -0,0 +1,16 @@
+// src/main/java/com/example/backend/dto/OptionTallyDTO.java
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptionTallyDTO {
+    private Long optionId;
+    private String optionText;
+    private boolean retired;
+    private long count;
+}
@@ -24,6 +24,9 @@ public class PagedResponse<T> {
     private int numberOfElements;
     private boolean empty;
 
+    // How totalElements was obtained: "exact", "cached" (exact but up to a few seconds old) or "estimated"
+    private String countMode = "exact";
+
     // Constructor that takes Spring Data Page object
     public PagedResponse(Page<T> page) {
         this.content = page.getContent();
@@ -0,0 +1,20 @@
+// src/main/java/com/example/backend/dto/QuestionResultDTO.java
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionResultDTO {
+    private Long questionId;
+    private String questionText;
+    private String type;
+    private long responseCount;
+    private List<OptionTallyDTO> options = new ArrayList<>(); // Empty for text questions
+}
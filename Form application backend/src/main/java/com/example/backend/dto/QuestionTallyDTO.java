@@ -0,0 +1,19 @@
+// src/main/java/com/example/backend/dto/QuestionTallyDTO.java
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionTallyDTO {
+    private Long questionId;
+    private String questionText;
+    private String type;
+    private List<OptionTallyDTO> options = new ArrayList<>();
+}
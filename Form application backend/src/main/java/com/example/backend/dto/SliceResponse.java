@@ -0,0 +1,36 @@
+// src/main/java/com/example/backend/dto/SliceResponse.java
+package com.example.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * A page without totals: fetched with one extra row instead of a COUNT(*) query, so it only knows
+ * whether a next page exists. Returned by the listings when count=none.
+ */
+@Data
+@NoArgsConstructor
+public class SliceResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean first;
+    private boolean hasNext;
+    private boolean hasPrevious;
+    private int numberOfElements;
+    private boolean empty;
+
+    public SliceResponse(Slice<T> slice) {
+        this.content = slice.getContent();
+        this.page = slice.getNumber();
+        this.size = slice.getSize();
+        this.first = slice.isFirst();
+        this.hasNext = slice.hasNext();
+        this.hasPrevious = slice.hasPrevious();
+        this.numberOfElements = slice.getNumberOfElements();
+        this.empty = slice.isEmpty();
+    }
+}
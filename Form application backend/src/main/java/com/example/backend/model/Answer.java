@@ -5,20 +5,30 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties; // NEW: Import JsonIgnoreProperties
 
+import java.time.Instant;
+
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "answers")
+// One answer per user and question, enforced by the database (see AnswerRepositoryCustom.upsertAll)
+@Table(name = "answers", uniqueConstraints = @UniqueConstraint(name = "uk_answers_user_question",
+        columnNames = {"user_id", "question_id"}))
 // NEW: Use JsonIgnoreProperties to prevent potential infinite recursion
 // when Question or User are serialized and might reference back to Answer.
 // This is a safer default for many-to-one relationships.
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Answer {
+    // Capacity of the TEXT response column in bytes (UTF-8); longer responses are rejected before they are queued or written
+    public static final int MAX_RESPONSE_BYTES = 65_535;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts (see SequenceAligner for existing rows)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answers_seq")
+    @SequenceGenerator(name = "answers_seq", sequenceName = "answers_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,4 +44,17 @@ public class Answer {
 
     @Column(columnDefinition = "TEXT")
     private String response;
+
+    // The published FormVersion the answer was given against (null for answers saved before versioning)
+    @Column(name = "form_version_id")
+    private Long formVersionId;
+
+    // Last insert/update time
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public Answer(Long id, Question question, User user, String response) {
+        this(id, question, user, response, null, null);
+    }
 }
@@ -0,0 +1,50 @@
+// src/main/java/com/example/backend/model/AnswerRecord.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.Instant;
+
+/**
+ * Read-only view over both answer tiers: the live answers table and answers_archive.
+ * MySQL materializes the UNION before applying any filter, so this only backs the admin listing of both tiers
+ * (GET /api/admin/answers?archived=all). Exports and aggregates use the per-table native queries in
+ * AnswerRecordRepository; the submission path keeps using Answer and only ever touches the live table.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT a.id, a.question_id, a.user_id, a.response, a.form_version_id, a.updated_at, FALSE AS archived FROM answers a " +
+           "UNION ALL " +
+           "SELECT r.id, r.question_id, r.user_id, r.response, r.form_version_id, r.updated_at, TRUE AS archived FROM answers_archive r")
+@Synchronize({"answers", "answers_archive"})
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class AnswerRecord {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private String response;
+
+    @Column(name = "form_version_id")
+    private Long formVersionId;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    private boolean archived;
+}
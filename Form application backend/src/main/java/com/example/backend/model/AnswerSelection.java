@@ -0,0 +1,37 @@
+// src/main/java/com/example/backend/model/AnswerSelection.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One selected option of a radio/checkbox answer. Answer.response keeps the display text;
+ * these rows make per-option counts an indexed GROUP BY. Written through AnswerSelectionRepository.replaceSelections.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "answer_selections", indexes = @Index(name = "idx_answer_selections_option", columnList = "option_id"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class AnswerSelection {
+    @EmbeddedId
+    private AnswerSelectionId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("answerId")
+    @JoinColumn(name = "answer_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Answer answer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("optionId")
+    @JoinColumn(name = "option_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private QuestionOption option;
+}
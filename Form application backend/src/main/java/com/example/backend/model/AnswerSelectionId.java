@@ -0,0 +1,22 @@
+// src/main/java/com/example/backend/model/AnswerSelectionId.java
+package com.example.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerSelectionId implements Serializable {
+    @Column(name = "answer_id")
+    private Long answerId;
+
+    @Column(name = "option_id")
+    private Long optionId;
+}
@@ -0,0 +1,52 @@
+// src/main/java/com/example/backend/model/ArchivedAnswer.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * An answer of a closed form, moved out of the live answers table by AnswerArchiver.
+ * Keeps the original answer ID, so an answer has the same ID in either tier.
+ * Rows are written with INSERT ... SELECT only; read both tiers through AnswerRecordRepository.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "answers_archive", indexes = {
+        @Index(name = "idx_answers_archive_question", columnList = "question_id"),
+        @Index(name = "idx_answers_archive_user", columnList = "user_id")})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ArchivedAnswer {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(columnDefinition = "TEXT")
+    private String response;
+
+    @Column(name = "form_version_id")
+    private Long formVersionId;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+}
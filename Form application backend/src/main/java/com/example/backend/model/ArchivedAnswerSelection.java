@@ -0,0 +1,36 @@
+// src/main/java/com/example/backend/model/ArchivedAnswerSelection.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * The selections of an archived answer, moved along with it so option counts keep covering closed forms.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "answer_selections_archive", indexes = @Index(name = "idx_answer_selections_archive_option", columnList = "option_id"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ArchivedAnswerSelection {
+    @EmbeddedId
+    private AnswerSelectionId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("answerId")
+    @JoinColumn(name = "answer_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ArchivedAnswer answer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("optionId")
+    @JoinColumn(name = "option_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private QuestionOption option;
+}
@@ -0,0 +1,25 @@
+// src/main/java/com/example/backend/model/CatalogVersion.java
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A version counter shared by every instance, bumped in the transaction that changes what it versions.
+ * One row per counter; a counter without a row is at version 0. See FormCatalogVersion.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+}
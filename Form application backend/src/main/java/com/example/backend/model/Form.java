@@ -2,11 +2,13 @@
 package com.example.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore; // NEW: Import JsonIgnore
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -30,4 +32,29 @@ public class Form {
     @OrderBy("id ASC")
     @JsonIgnore // NEW: Ignore this field during JSON serialization of Form to prevent infinite recursion
     private List<Question> questions = new ArrayList<>();
+
+    // Lifecycle: only OPEN forms accept answers. The column default covers rows created before the column existed.
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(16) default 'OPEN'")
+    private FormStatus status = FormStatus.OPEN;
+
+    private Instant closedAt;
+
+    // Closed form: set once all its answers are in answers_archive.
+    // Reopened form: set while answers are still to be restored; the form accepts answers once it is cleared.
+    private Instant archivedAt;
+
+    // The FormVersion respondents are served; the questions above are the draft admins edit.
+    // Null until the form is first published. Only set through FormVersionService.publish.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long publishedVersionId;
+
+    public Form(Long id, String title, String description, List<Question> questions) {
+        this(id, title, description, questions, FormStatus.OPEN, null, null, null);
+    }
+
+    @JsonIgnore
+    public boolean isClosed() {
+        return status == FormStatus.CLOSED;
+    }
 }
@@ -0,0 +1,39 @@
+// src/main/java/com/example/backend/model/FormResultRollup.java
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated form results, maintained by FormResultsRollupService.
+ * One row per question with optionId = 0 holding the number of non-empty answers,
+ * plus one row per selected option of radio/checkbox questions holding its selection count.
+ */
+@Entity
+@Table(name = "form_result_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_form_result_rollups_key",
+        columnNames = {"form_id", "question_id", "option_id"}),
+        indexes = @Index(name = "idx_form_result_rollups_question", columnList = "question_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormResultRollup {
+    public static final long QUESTION_TOTAL = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "option_id", nullable = false)
+    private Long optionId;
+
+    @Column(nullable = false)
+    private Long responseCount;
+}
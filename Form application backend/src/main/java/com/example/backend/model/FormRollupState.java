@@ -0,0 +1,29 @@
+// src/main/java/com/example/backend/model/FormRollupState.java
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Form-level part of the results rollup: distinct respondents and when the form was last refreshed.
+ */
+@Entity
+@Table(name = "form_rollup_states")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormRollupState {
+    @Id
+    @Column(name = "form_id")
+    private Long formId;
+
+    @Column(nullable = false)
+    private Long respondentCount;
+
+    @Column(nullable = false)
+    private Instant refreshedAt;
+}
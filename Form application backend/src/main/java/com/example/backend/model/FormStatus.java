@@ -0,0 +1,7 @@
+// src/main/java/com/example/backend/model/FormStatus.java
+package com.example.backend.model;
+
+public enum FormStatus {
+    OPEN,
+    CLOSED // No new answers; its answers are moved to answers_archive by AnswerArchiver
+}
@@ -0,0 +1,55 @@
+// src/main/java/com/example/backend/model/FormVersion.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * An immutable published snapshot of a form: the FormDTO (questions and options included) frozen at publish time
+ * and stored as one serialized JSON document. Rows are never updated once written, so a version can be cached
+ * by its ID forever. See FormVersionService.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "form_versions", uniqueConstraints = @UniqueConstraint(name = "uk_form_versions_form_number",
+        columnNames = {"form_id", "version_number"}))
+public class FormVersion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "form_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Form form;
+
+    // 1, 2, ... per form
+    @Column(name = "version_number", nullable = false)
+    private int versionNumber;
+
+    @Column(columnDefinition = "LONGTEXT", nullable = false)
+    @JsonIgnore
+    private String document;
+
+    // SHA-256 of the draft content the version was published from (without version fields), to skip no-op publishes
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "published_at", nullable = false)
+    private Instant publishedAt;
+
+    // Questions in the document, for the form list; null only for versions published before the column existed
+    // until FormVersionQuestionCountMigration fills it in
+    @Column(name = "question_count")
+    private Integer questionCount;
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/example/backend/model/JwtSigningKey.java
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the JWT key ring. Stored in the database so that tokens survive restarts
+ * and every backend instance can verify tokens signed by the others.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+    // Key id, written to the "kid" header of every token signed with this key
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    // Base64url-encoded 256-bit HMAC secret
+    @Column(nullable = false, length = 64)
+    private String secret;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -13,7 +13,9 @@ import java.util.List;
 @NoArgsConstructor
 public class Question {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so bulk imports can batch inserts (see SequenceAligner for existing rows)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+    @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
     private Long id;
 
     private String questionText;
@@ -31,6 +33,12 @@ public class Question {
     @JsonIgnore // NEW: Ignore this field during JSON serialization to prevent infinite recursion
     private Form form;
 
+    // Set instead of deleting once the form has been published: answers to a published version still reference
+    // the question. Removed questions are left out of the draft (and so of later versions) but keep their answers.
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean removed;
+
     public Question(Long id, String questionText, String type, List<String> options, Integer maxSelections, Form form) {
         this.id = id;
         this.questionText = questionText;
@@ -0,0 +1,45 @@
+// src/main/java/com/example/backend/model/QuestionOption.java
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A radio/checkbox option with a stable id, mirrored from Question.options (see QuestionOptionCatalog).
+ * Options removed from a question are retired rather than deleted, so selections made earlier keep their option.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "choice_options", uniqueConstraints = @UniqueConstraint(name = "uk_choice_options_question_text",
+        columnNames = {"question_id", "option_text"}))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class QuestionOption {
+    @Id
+    // Pooled sequence so the option rows of many questions go out as one batch (see SequenceAligner)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "choice_options_seq")
+    @SequenceGenerator(name = "choice_options_seq", sequenceName = "choice_options_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id")
+    @OnDelete(action = OnDeleteAction.CASCADE) // Deleting a question removes its options (and their selections)
+    @JsonIgnore
+    private Question question;
+
+    @Column(name = "option_text", nullable = false)
+    private String optionText;
+
+    @Column(nullable = false)
+    private Integer position;
+
+    @Column(nullable = false)
+    private boolean retired;
+}
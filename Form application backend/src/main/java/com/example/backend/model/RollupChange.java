@@ -0,0 +1,26 @@
+// src/main/java/com/example/backend/model/RollupChange.java
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A question whose rollup must be recomputed, logged in the transaction that wrote or deleted its answers
+ * (or right after it committed). Rows are only appended, never updated, so concurrent writers do not contend;
+ * the refresh deletes exactly the rows it has read. See FormResultsRollupService.
+ */
+@Entity
+@Table(name = "rollup_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/example/backend/model/User.java
 package com.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty; // NEW: Import JsonProperty
 import jakarta.persistence.*;
 import lombok.Data;
@@ -38,6 +39,11 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
+    // Embedded in every JWT as the "ver" claim. Bumping it revokes all tokens issued before the change.
+    @Column(nullable = false)
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+
     // If you had a @OneToMany List<Answer> answers; here, you would need @JsonIgnore on it.
     // Example (if it existed):
     // @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
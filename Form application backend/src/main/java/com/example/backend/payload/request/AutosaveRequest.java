@@ -0,0 +1,16 @@
+// AutosaveRequest.java
+package com.example.backend.payload.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class AutosaveRequest {
+    @NotNull
+    private Long questionId;
+
+    private String response;
+
+    // The published form version the user is answering; the current one is recorded when missing
+    private Long formVersionId;
+}
@@ -0,0 +1,11 @@
+// TokenRefreshRequest.java
+package com.example.backend.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
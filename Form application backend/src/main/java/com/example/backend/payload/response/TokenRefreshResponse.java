@@ -0,0 +1,18 @@
+// TokenRefreshResponse.java
+package com.example.backend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenRefreshResponse {
+    private String token;
+    private String refreshToken;
+    private String type = "Bearer";
+
+    public TokenRefreshResponse(String accessToken, String refreshToken) {
+        this.token = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
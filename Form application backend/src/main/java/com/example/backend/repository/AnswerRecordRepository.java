@@ -0,0 +1,57 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.AnswerRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Read-only queries over live and archived answers. The entity (see AnswerRecord) is a UNION of both tables that
+// MySQL materializes in full, so it only backs listings that ask for both tiers; the queries below are native and
+// filter inside each branch, so each table is read through its own indexes.
+public interface AnswerRecordRepository extends JpaRepository<AnswerRecord, Long>, JpaSpecificationExecutor<AnswerRecord> {
+
+    // [userId, username, questionId, response] of a form's answers, ordered by user and question.
+    // Streamed row by row (MySQL Connector/J needs Integer.MIN_VALUE as the fetch size for that).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT t.user_id, u.username, t.question_id, t.response FROM (" +
+                   "SELECT a.user_id, a.question_id, a.response FROM answers a JOIN question q ON q.id = a.question_id WHERE q.form_id = :formId " +
+                   "UNION ALL " +
+                   "SELECT r.user_id, r.question_id, r.response FROM answers_archive r JOIN question q ON q.id = r.question_id WHERE q.form_id = :formId" +
+                   ") t JOIN users u ON u.id = t.user_id ORDER BY t.user_id, t.question_id",
+           nativeQuery = true)
+    Stream<Object[]> streamByFormId(@Param("formId") Long formId);
+
+    @Query(value = "SELECT question_id FROM answers WHERE user_id = :userId " +
+                   "UNION SELECT question_id FROM answers_archive WHERE user_id = :userId",
+           nativeQuery = true)
+    List<Long> findQuestionIdsByUserId(@Param("userId") Long userId);
+
+    // [questionId, non-empty answer count]
+    @Query(value = "SELECT t.question_id, COUNT(*) FROM (" +
+                   "SELECT question_id FROM answers WHERE question_id IN (:questionIds) AND response IS NOT NULL AND response <> '' " +
+                   "UNION ALL " +
+                   "SELECT question_id FROM answers_archive WHERE question_id IN (:questionIds) AND response IS NOT NULL AND response <> ''" +
+                   ") t GROUP BY t.question_id",
+           nativeQuery = true)
+    List<Object[]> countResponsesByQuestion(@Param("questionIds") Collection<Long> questionIds);
+
+    // [formId, distinct respondents]
+    @Query(value = "SELECT t.form_id, COUNT(DISTINCT t.user_id) FROM (" +
+                   "SELECT q.form_id, a.user_id FROM answers a JOIN question q ON q.id = a.question_id WHERE q.form_id IN (:formIds) " +
+                   "UNION ALL " +
+                   "SELECT q.form_id, r.user_id FROM answers_archive r JOIN question q ON q.id = r.question_id WHERE q.form_id IN (:formIds)" +
+                   ") t GROUP BY t.form_id",
+           nativeQuery = true)
+    List<Object[]> countRespondentsByForm(@Param("formIds") Collection<Long> formIds);
+}
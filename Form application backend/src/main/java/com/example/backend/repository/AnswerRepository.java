@@ -5,14 +5,45 @@ import com.example.backend.model.Answer;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AnswerRepository extends JpaRepository<Answer, Long>, JpaSpecificationExecutor<Answer> {
+public interface AnswerRepository extends JpaRepository<Answer, Long>, JpaSpecificationExecutor<Answer>, AnswerRepositoryCustom {
     Optional<Answer> findByUser_IdAndQuestion_Id(Long userId, Long questionId);
 
     @EntityGraph(attributePaths = {"question", "user"})
     List<Answer> findByUser_Id(Long userId);
+
+    // A user's answers within one form, as (questionId, response) only
+    @Query(value = "SELECT a.question.id AS questionId, a.response AS response FROM Answer a " +
+                   "WHERE a.user.id = :userId AND a.question.form.id = :formId ORDER BY a.question.id",
+           countQuery = "SELECT COUNT(a) FROM Answer a WHERE a.user.id = :userId AND a.question.form.id = :formId")
+    Page<AnswerView> findViewsByUserIdAndFormId(@Param("userId") Long userId, @Param("formId") Long formId, Pageable pageable);
+
+    // Same, limited to the questions shown on one form page
+    @Query(value = "SELECT a.question.id AS questionId, a.response AS response FROM Answer a " +
+                   "WHERE a.user.id = :userId AND a.question.form.id = :formId AND a.question.id IN :questionIds ORDER BY a.question.id",
+           countQuery = "SELECT COUNT(a) FROM Answer a " +
+                        "WHERE a.user.id = :userId AND a.question.form.id = :formId AND a.question.id IN :questionIds")
+    Page<AnswerView> findViewsByUserIdAndFormIdAndQuestionIds(@Param("userId") Long userId, @Param("formId") Long formId,
+                                                              @Param("questionIds") Collection<Long> questionIds, Pageable pageable);
+
+    // The answers of a whole submission in one query
+    List<Answer> findByUser_IdInAndQuestion_IdIn(Collection<Long> userIds, Collection<Long> questionIds);
+
+    // [id, userId, questionId] of the answers written by a native upsert
+    @Query("SELECT a.id, a.user.id, a.question.id FROM Answer a WHERE a.user.id IN :userIds AND a.question.id IN :questionIds")
+    List<Object[]> findIdentities(@Param("userIds") Collection<Long> userIds, @Param("questionIds") Collection<Long> questionIds);
+
+    // Choice answers that have no selection rows yet, in id order (selection backfill)
+    @Query("SELECT a FROM Answer a JOIN FETCH a.question q WHERE a.id > :afterId AND q.type IN ('radio', 'checkbox') " +
+           "AND NOT EXISTS (SELECT s FROM AnswerSelection s WHERE s.answer = a) ORDER BY a.id")
+    List<Answer> findChoiceAnswersWithoutSelections(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Answer;
+
+import java.util.List;
+
+/**
+ * Native write path for answers, relying on the unique (user_id, question_id) index.
+ */
+public interface AnswerRepositoryCustom {
+
+    /**
+     * Inserts or updates each answer with a single INSERT ... ON DUPLICATE KEY UPDATE, sent as one JDBC batch.
+     * No existing rows are read first. Only user.id, question.id and response are used; ids of the
+     * passed objects are not updated, so re-read the rows if they are needed.
+     * @param answers The answers to write.
+     * @return The number of answers written.
+     */
+    int upsertAll(List<Answer> answers);
+}
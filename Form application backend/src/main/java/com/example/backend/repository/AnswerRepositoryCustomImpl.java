@@ -0,0 +1,59 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Answer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnswerRepositoryCustomImpl implements AnswerRepositoryCustom {
+
+    // VALUES(col) refers to the value that would have been inserted
+    private static final String UPSERT_SQL =
+            "INSERT INTO answers (id, user_id, question_id, response, form_version_id, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE response = VALUES(response), form_version_id = VALUES(form_version_id), updated_at = VALUES(updated_at)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnswerRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<Answer> answers) {
+        if (answers.isEmpty()) {
+            return 0;
+        }
+        // Ids come from the same pooled generator Hibernate uses, so native and JPA inserts never collide.
+        // An id allocated for a row that turns out to exist is simply skipped.
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = session.getFactory().getMappingMetamodel().getEntityDescriptor(Answer.class).getIdentifierGenerator();
+
+        // Application time, like @UpdateTimestamp on the JPA path, so both paths share one clock
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(answers.size());
+        for (Answer answer : answers) {
+            rows.add(new Object[]{
+                    idGenerator.generate(session, answer),
+                    answer.getUser().getId(),
+                    answer.getQuestion().getId(),
+                    answer.getResponse(),
+                    answer.getFormVersionId(),
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.AnswerSelection;
+import com.example.backend.model.AnswerSelectionId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AnswerSelectionRepository extends JpaRepository<AnswerSelection, AnswerSelectionId>, AnswerSelectionRepositoryCustom {
+
+    // Uses idx_answer_selections_option; no answer text is read
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM AnswerSelection s JOIN s.option o WHERE o.question.form.id = :formId GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOptionForForm(@Param("formId") Long formId);
+
+    // All option counts, for rebuilding the live tally at startup
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM AnswerSelection s JOIN s.option o GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOption();
+
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM AnswerSelection s JOIN s.option o WHERE o.question.id IN :questionIds GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOptionForQuestions(@Param("questionIds") Collection<Long> questionIds);
+}
@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC write path for answer selections.
+ */
+public interface AnswerSelectionRepositoryCustom {
+
+    /**
+     * Makes the stored selections of each answer equal to the given option ids, touching only rows that change.
+     * Must run in the same transaction as the answer write so the answer row lock serializes concurrent updates;
+     * the current selections are then read with FOR UPDATE, so the later writer diffs against the earlier one's rows.
+     * @param selectionsByAnswerId Answer ID -> selected option IDs (an empty set clears the answer's selections).
+     * @return Option ID -> change in selection count (+1 added, -1 removed), from the rows the DELETE and INSERT batches
+     *         actually changed; options without changes are absent. LiveTallyService applies these as they are.
+     */
+    Map<Long, Integer> replaceSelections(Map<Long, Set<Long>> selectionsByAnswerId);
+}
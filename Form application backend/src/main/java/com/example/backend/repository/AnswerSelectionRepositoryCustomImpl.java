@@ -0,0 +1,82 @@
+package com.example.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class AnswerSelectionRepositoryCustomImpl implements AnswerSelectionRepositoryCustom {
+
+    private static final int IN_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnswerSelectionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> replaceSelections(Map<Long, Set<Long>> selectionsByAnswerId) {
+        if (selectionsByAnswerId.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Set<Long>> stored = new HashMap<>();
+        List<Long> answerIds = new ArrayList<>(selectionsByAnswerId.keySet());
+        for (int from = 0; from < answerIds.size(); from += IN_CHUNK) {
+            List<Long> chunk = answerIds.subList(from, Math.min(from + IN_CHUNK, answerIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            // A locking read: it sees the latest committed rows, not the transaction's snapshot, which may predate the
+            // answer row lock and miss the selections a concurrent submission of the same answer just committed
+            jdbcTemplate.query("SELECT answer_id, option_id FROM answer_selections WHERE answer_id IN (" + placeholders + ") FOR UPDATE",
+                    rs -> {
+                        stored.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+                    }, chunk.toArray());
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        selectionsByAnswerId.forEach((answerId, selected) -> {
+            Set<Long> previous = stored.getOrDefault(answerId, Set.of());
+            for (Long optionId : selected) {
+                if (!previous.contains(optionId)) {
+                    inserts.add(new Object[]{answerId, optionId});
+                }
+            }
+            for (Long optionId : previous) {
+                if (!selected.contains(optionId)) {
+                    deletes.add(new Object[]{answerId, optionId});
+                }
+            }
+        });
+        // Deltas count the rows the statements actually changed, so the live tallies never move for a no-op
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (!deletes.isEmpty()) {
+            int[] deleted = jdbcTemplate.batchUpdate("DELETE FROM answer_selections WHERE answer_id = ? AND option_id = ?", deletes);
+            addDeltas(deltas, deletes, deleted, -1);
+        }
+        if (!inserts.isEmpty()) {
+            int[] inserted = jdbcTemplate.batchUpdate("INSERT INTO answer_selections (answer_id, option_id) VALUES (?, ?)", inserts);
+            addDeltas(deltas, inserts, inserted, 1);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    // A rewritten multi-row INSERT reports SUCCESS_NO_INFO per row; it did not throw, so every row was written
+    private static void addDeltas(Map<Long, Integer> deltas, List<Object[]> rows, int[] counts, int sign) {
+        for (int i = 0; i < rows.size(); i++) {
+            int count = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+            if (count == Statement.SUCCESS_NO_INFO || count > 0) {
+                deltas.merge((Long) rows.get(i)[1], sign, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.repository;
+
+/**
+ * Projection of an answer as the form page needs it: which question, and the response.
+ */
+public interface AnswerView {
+    Long getQuestionId();
+
+    String getResponse();
+}
@@ -0,0 +1,9 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.ArchivedAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface ArchivedAnswerRepository extends JpaRepository<ArchivedAnswer, Long>, JpaSpecificationExecutor<ArchivedAnswer> {
+    boolean existsByQuestion_Form_Id(Long formId);
+}
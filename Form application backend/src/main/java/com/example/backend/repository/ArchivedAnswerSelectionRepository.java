@@ -0,0 +1,26 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.AnswerSelectionId;
+import com.example.backend.model.ArchivedAnswerSelection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+// Same aggregates as AnswerSelectionRepository, for the archive tier; callers add both
+public interface ArchivedAnswerSelectionRepository extends JpaRepository<ArchivedAnswerSelection, AnswerSelectionId> {
+
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM ArchivedAnswerSelection s JOIN s.option o WHERE o.question.form.id = :formId GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOptionForForm(@Param("formId") Long formId);
+
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM ArchivedAnswerSelection s JOIN s.option o GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOption();
+
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, COUNT(s) AS count " +
+           "FROM ArchivedAnswerSelection s JOIN s.option o WHERE o.question.id IN :questionIds GROUP BY o.question.id, o.id")
+    List<OptionTally> countByOptionForQuestions(@Param("questionIds") Collection<Long> questionIds);
+}
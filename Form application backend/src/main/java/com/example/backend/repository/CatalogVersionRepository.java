@@ -0,0 +1,23 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    // Creates the row on first use; the row lock is held until the calling transaction ends
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO catalog_versions (name, version) VALUES (:name, 1) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment(@Param("name") String name);
+
+    @Query("SELECT v.version FROM CatalogVersion v WHERE v.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+}
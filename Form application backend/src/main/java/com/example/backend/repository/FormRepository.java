@@ -1,12 +1,38 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Form;
+import com.example.backend.model.FormStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FormRepository extends JpaRepository<Form, Long>, JpaSpecificationExecutor<Form> {
     Optional<Form> findByTitle(String title);
+
+    // Published forms only; drafts that were never published are not listed. The question count is the published
+    // version's, so it matches what /forms/{id}/published serves, not the draft being edited.
+    @Query(value = "SELECT f.id AS id, f.title AS title, f.description AS description, " +
+                   "CAST(COALESCE(v.questionCount, 0) AS Long) AS questionCount, f.publishedVersionId AS publishedVersionId " +
+                   "FROM Form f JOIN FormVersion v ON v.id = f.publishedVersionId",
+           countQuery = "SELECT COUNT(f) FROM Form f WHERE f.publishedVersionId IS NOT NULL")
+    Page<FormSummary> findSummaries(Pageable pageable);
+
+    // Closed forms whose answers are not fully archived yet (AnswerArchiver)
+    List<Form> findByStatusAndArchivedAtIsNull(FormStatus status);
+
+    // Reopened forms whose answers still have to be restored (AnswerArchiver)
+    List<Form> findByStatusAndArchivedAtIsNotNull(FormStatus status);
+
+    // [id, status, archived_at], with a shared lock on each row until the transaction ends (answer writes, see
+    // FormLifecycleService.lockForAnswers). Every row is read and locked; the caller checks the values.
+    @Query(value = "SELECT id, status, archived_at FROM forms WHERE id IN (:ids) LOCK IN SHARE MODE", nativeQuery = true)
+    List<Object[]> lockForAnswers(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
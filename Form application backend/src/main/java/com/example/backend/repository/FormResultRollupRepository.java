@@ -0,0 +1,23 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.FormResultRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FormResultRollupRepository extends JpaRepository<FormResultRollup, Long> {
+    List<FormResultRollup> findByFormId(Long formId);
+
+    @Modifying
+    @Query("DELETE FROM FormResultRollup r WHERE r.questionId IN :questionIds")
+    int deleteByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    // Rows of questions that no longer exist
+    @Modifying
+    @Query("DELETE FROM FormResultRollup r WHERE NOT EXISTS (SELECT q FROM Question q WHERE q.id = r.questionId)")
+    int deleteOrphans();
+}
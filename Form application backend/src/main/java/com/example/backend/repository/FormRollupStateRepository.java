@@ -0,0 +1,13 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.FormRollupState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface FormRollupStateRepository extends JpaRepository<FormRollupState, Long> {
+    // States of forms that no longer exist
+    @Modifying
+    @Query("DELETE FROM FormRollupState s WHERE NOT EXISTS (SELECT f FROM Form f WHERE f.id = s.formId)")
+    int deleteOrphans();
+}
@@ -0,0 +1,17 @@
+package com.example.backend.repository;
+
+/**
+ * Projection of a form for the form list: no questions, just how many its published version has,
+ * and the published version to load (GET /api/forms/{id}/versions/{publishedVersionId}).
+ */
+public interface FormSummary {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Long getQuestionCount();
+
+    Long getPublishedVersionId();
+}
@@ -0,0 +1,18 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.FormVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FormVersionRepository extends JpaRepository<FormVersion, Long> {
+
+    @Query("SELECT COALESCE(MAX(v.versionNumber), 0) FROM FormVersion v WHERE v.form.id = :formId")
+    int findMaxVersionNumber(@Param("formId") Long formId);
+
+    // [versionId, formId, versionNumber, publishedAt], newest first (admin version history)
+    @Query("SELECT v.id, v.form.id, v.versionNumber, v.publishedAt FROM FormVersion v WHERE v.form.id = :formId ORDER BY v.versionNumber DESC")
+    List<Object[]> findHistoryByFormId(@Param("formId") Long formId);
+}
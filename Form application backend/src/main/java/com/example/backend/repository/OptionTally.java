@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+/**
+ * Projection of a per-option selection count.
+ */
+public interface OptionTally {
+    Long getQuestionId();
+
+    Long getOptionId();
+
+    Long getCount();
+}
@@ -0,0 +1,11 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.QuestionOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionOptionRepository extends JpaRepository<QuestionOption, Long> {
+    List<QuestionOption> findByQuestion_IdInOrderByPositionAsc(Collection<Long> questionIds);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question> {
@@ -18,12 +19,32 @@ public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSp
     // New paginated method
     Page<Question> findByFormId(Long formId, Pageable pageable);
 
+    // The draft: questions not removed from the form (see Question.removed)
+    List<Question> findByFormIdAndRemovedFalse(Long formId);
+
+    Page<Question> findByFormIdAndRemovedFalse(Long formId, Pageable pageable);
+
     // Additional paginated methods you might need
     Page<Question> findByFormIdAndQuestionTextContaining(Long formId, String questionText, Pageable pageable);
 
     Page<Question> findByFormIdAndType(Long formId, String type, Pageable pageable);
 
-    // Custom query example with pagination
-    @Query("SELECT q FROM Question q WHERE q.form.id = :formId AND q.questionText LIKE %:searchTerm%")
-    Page<Question> findByFormIdAndSearchTerm(@Param("formId") Long formId, @Param("searchTerm") String searchTerm, Pageable pageable);
-}
\ No newline at end of file
+    // Every question with its option texts in one query (option catalog sync at startup)
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.options")
+    List<Question> findAllWithOptions();
+
+    // Draft questions of one form with their option texts in one query (form definition cache, publishing)
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.options WHERE q.form.id = :formId AND q.removed = false ORDER BY q.id")
+    List<Question> findByFormIdWithOptions(@Param("formId") Long formId);
+
+    // [questionId, formId]
+    @Query("SELECT q.id, q.form.id FROM Question q WHERE q.id IN :ids")
+    List<Object[]> findFormIdsByQuestionIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q.id FROM Question q")
+    List<Long> findAllIds();
+
+    // Questions of a submission with their forms, to check the form is open (one query)
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.form WHERE q.id IN :ids")
+    List<Question> findAllWithFormByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,26 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.RollupChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RollupChangeRepository extends JpaRepository<RollupChange, Long> {
+
+    // One statement for any number of questions; IDs of questions that no longer exist are skipped
+    @Modifying
+    @Query(value = "INSERT INTO rollup_changes (question_id) SELECT id FROM question WHERE id IN (:questionIds)", nativeQuery = true)
+    int logChanges(@Param("questionIds") Collection<Long> questionIds);
+
+    // [id, questionId] of every change visible to the reading transaction
+    @Query("SELECT c.id, c.questionId FROM RollupChange c")
+    List<Object[]> findAllChanges();
+
+    @Modifying
+    @Query("DELETE FROM RollupChange c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
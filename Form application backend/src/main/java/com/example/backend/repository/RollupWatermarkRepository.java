@@ -0,0 +1,7 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+}
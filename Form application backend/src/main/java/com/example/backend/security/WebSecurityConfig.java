@@ -77,7 +77,7 @@ public class WebSecurityConfig {
         // Allow requests from your React frontend
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
         // Allow common HTTP methods
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         // Allow specific headers, including Authorization for JWT
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
         // Allow credentials (like cookies or Authorization headers) to be sent
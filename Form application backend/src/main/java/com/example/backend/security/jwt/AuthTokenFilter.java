@@ -1,7 +1,8 @@
 // AuthTokenFilter.java
 package com.example.backend.security.jwt;
 
-import com.example.backend.security.services.UserDetailsServiceImpl;
+import com.example.backend.security.services.TokenVersionRegistry;
+import com.example.backend.security.services.UserDetailsImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,7 +24,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private TokenVersionRegistry tokenVersionRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -36,23 +37,29 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
             if (jwt != null) {
                 logger.debug("AuthTokenFilter: JWT found: {}", jwt.substring(0, Math.min(jwt.length(), 20)) + "..."); // Log first 20 chars
-                if (jwtUtils.validateJwtToken(jwt)) {
+                VerifiedTokenCache.VerifiedToken verified = jwtUtils.verifyJwtToken(jwt);
+                if (verified != null) {
                     logger.debug("AuthTokenFilter: JWT is valid.");
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                    logger.debug("AuthTokenFilter: Username from JWT: {}", username);
+                    UserDetailsImpl principal = verified.principal();
+                    UserDetails userDetails = principal;
+                    if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                        logger.warn("AuthTokenFilter: JWT for user {} has been revoked.", principal.getUsername());
+                        userDetails = null;
+                    }
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    logger.debug("AuthTokenFilter: UserDetails loaded for username: {}", userDetails.getUsername());
+                    if (userDetails != null) {
+                        logger.debug("AuthTokenFilter: UserDetails built for username: {}", userDetails.getUsername());
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null, // Credentials (password) are not needed here as the user is already authenticated via JWT
-                                    userDetails.getAuthorities()); // User's roles/authorities
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(
+                                        userDetails,
+                                        null, // Credentials (password) are not needed here as the user is already authenticated via JWT
+                                        userDetails.getAuthorities()); // User's roles/authorities
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("AuthTokenFilter: Authentication set in SecurityContextHolder for user: {}", username);
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        logger.debug("AuthTokenFilter: Authentication set in SecurityContextHolder for user: {}", userDetails.getUsername());
+                    }
                 } else {
                     logger.warn("AuthTokenFilter: JWT validation failed for token: {}", jwt.substring(0, Math.min(jwt.length(), 20)) + "...");
                 }
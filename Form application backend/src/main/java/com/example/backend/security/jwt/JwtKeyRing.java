@@ -0,0 +1,141 @@
+// src/main/java/com/example/backend/security/jwt/JwtKeyRing.java
+package com.example.backend.security.jwt;
+
+import com.example.backend.model.JwtSigningKey;
+import com.example.backend.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent ring of HMAC keys used to sign and verify JWTs.
+ * The newest key signs new tokens; every key that may still have live tokens is kept for verification.
+ * Keys are stored in the database, so a restart does not invalidate issued tokens and all instances
+ * share the same ring. A scheduled job rotates in a new key and retires keys whose tokens have all expired.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final int SECRET_LENGTH_BYTES = 32; // 256 bits for HS256
+    private static final long MIN_RELOAD_INTERVAL_MS = 5_000;
+
+    private final JwtSigningKeyRepository keyRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${backend.app.jwtKeyRotationMs:604800000}")
+    private long rotationMs;
+
+    @Value("${backend.app.jwtExpirationMs}")
+    private long jwtExpirationMs;
+
+    // Immutable snapshots, swapped as a whole on reload
+    private volatile Map<String, Key> verificationKeys = Map.of();
+    private volatile SigningKey currentKey;
+    private volatile Instant currentKeyCreatedAt = Instant.EPOCH;
+    private volatile long lastReloadMillis;
+
+    public record SigningKey(String kid, Key key) {
+    }
+
+    public JwtKeyRing(JwtSigningKeyRepository keyRepository) {
+        this.keyRepository = keyRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        rotateIfDue();
+        logger.info("JwtKeyRing: Loaded {} verification key(s), signing with kid {}.", verificationKeys.size(), currentKey.kid());
+    }
+
+    /**
+     * @return The key new tokens are signed with.
+     */
+    public SigningKey currentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Resolves the verification key for a token's "kid" header.
+     * An unknown kid may have been rotated in by another instance, so the ring is reloaded
+     * (at most once every few seconds) before giving up.
+     * @param kid The key id from the token header.
+     * @return The key, or null if no active key has that id.
+     */
+    public Key resolve(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastReloadMillis > MIN_RELOAD_INTERVAL_MS) {
+            logger.debug("JwtKeyRing: Unknown kid {}, reloading key ring.", kid);
+            reload();
+            key = verificationKeys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Periodically picks up keys added by other instances, rotates the signing key when it is
+     * older than the rotation interval and deletes keys that can no longer have live tokens.
+     */
+    @Scheduled(fixedDelayString = "${backend.app.jwtKeyRefreshMs:300000}", initialDelayString = "${backend.app.jwtKeyRefreshMs:300000}")
+    public void refresh() {
+        reload();
+        rotateIfDue();
+        Instant cutoff = Instant.now().minusMillis(rotationMs + jwtExpirationMs);
+        int retired = keyRepository.deleteCreatedBefore(cutoff);
+        if (retired > 0) {
+            logger.info("JwtKeyRing: Retired {} key(s) created before {}.", retired, cutoff);
+            reload();
+        }
+    }
+
+    private void rotateIfDue() {
+        if (currentKey == null || currentKeyCreatedAt.plusMillis(rotationMs).isBefore(Instant.now())) {
+            JwtSigningKey newKey = new JwtSigningKey(UUID.randomUUID().toString(), generateSecret(), Instant.now());
+            keyRepository.save(newKey);
+            logger.info("JwtKeyRing: Rotated in new signing key with kid {}.", newKey.getKid());
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        List<JwtSigningKey> storedKeys = keyRepository.findAllByOrderByCreatedAtDesc();
+        Map<String, Key> keys = new LinkedHashMap<>();
+        for (JwtSigningKey storedKey : storedKeys) {
+            keys.put(storedKey.getKid(), toKey(storedKey.getSecret()));
+        }
+        verificationKeys = Map.copyOf(keys);
+        if (!storedKeys.isEmpty()) {
+            JwtSigningKey newest = storedKeys.get(0);
+            currentKey = new SigningKey(newest.getKid(), keys.get(newest.getKid()));
+            currentKeyCreatedAt = newest.getCreatedAt();
+        }
+        lastReloadMillis = System.currentTimeMillis();
+    }
+
+    private static Key toKey(String secret) {
+        return Keys.hmacShaKeyFor(Base64.getUrlDecoder().decode(secret));
+    }
+
+    private String generateSecret() {
+        byte[] secretBytes = new byte[SECRET_LENGTH_BYTES];
+        secureRandom.nextBytes(secretBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+    }
+}
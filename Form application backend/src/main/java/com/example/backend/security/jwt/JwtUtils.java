@@ -3,7 +3,6 @@ package com.example.backend.security.jwt;
 
 import com.example.backend.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -13,71 +12,125 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    // Removed @Value for jwtSecret, it will be injected via constructor
-    private final String jwtSecret;
+    // Claim names used to rebuild the principal straight from the token
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    // Keys come from the persistent key ring; the parser is built once and resolves the key by "kid"
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Value("${backend.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    // NEW: Constructor for dependency injection of jwtSecret
-    public JwtUtils(@Value("${backend.app.jwtSecret:}") String jwtSecretFromProperties, String dynamicallyGeneratedJwtSecret) {
-        // Prioritize dynamically generated secret if available, otherwise fall back to properties (for dev/testing)
-        // In a production setup, you'd likely remove the properties fallback entirely.
-        if (dynamicallyGeneratedJwtSecret != null && !dynamicallyGeneratedJwtSecret.isEmpty()) {
-            this.jwtSecret = dynamicallyGeneratedJwtSecret;
-            logger.info("JwtUtils: Using dynamically generated JWT secret.");
-        } else if (jwtSecretFromProperties != null && !jwtSecretFromProperties.isEmpty()) {
-            this.jwtSecret = jwtSecretFromProperties;
-            logger.warn("JwtUtils: Using JWT secret from application.properties. Consider dynamic generation for production.");
-        } else {
-            // Fallback if neither is provided, though JwtSecretConfig should always provide one.
-            // This case should ideally not be hit if JwtSecretConfig is correctly set up.
-            this.jwtSecret = generateRandomSecret(32); // Generate a fallback random if nothing is provided
-            logger.error("JwtUtils: No JWT secret provided or dynamically generated. Generating a fallback random secret.");
-        }
+    public JwtUtils(JwtKeyRing keyRing, VerifiedTokenCache verifiedTokenCache) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.resolve(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown JWT signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateTokenFromUserDetails((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    /**
+     * Issues a short-lived access token for a principal. Used both at sign-in and when a refresh token is exchanged.
+     */
+    public String generateTokenFromUserDetails(UserDetailsImpl userPrincipal) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toList());
+
+        JwtKeyRing.SigningKey signingKey = keyRing.currentKey();
 
         String jwt = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
         logger.debug("JwtUtils: Generated JWT for user {}: {}", userPrincipal.getUsername(), jwt);
         return jwt;
     }
 
-    // MODIFIED KEY METHOD: Uses the injected jwtSecret
-    private Key key() {
-        // Ensure the secret key is long enough (at least 256 bits or 32 characters for HS256)
-        if (jwtSecret == null || jwtSecret.length() < 32) {
-            logger.error("JwtUtils: JWT secret is too short or null! It must be at least 32 characters for HS256. Current length: {}", jwtSecret != null ? jwtSecret.length() : "null");
-            throw new IllegalArgumentException("JWT secret is too short or null.");
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    /**
+     * Verifies a token and returns what the filter needs to authenticate the request, in one pass.
+     * Tokens seen before are answered from the VerifiedTokenCache; otherwise the signature is checked
+     * once with the pre-built parser and the result is cached until the token's expiry.
+     * @param token The raw JWT.
+     * @return The verification result, or null if the token is invalid or expired, or lacks the id/roles/version
+     *         claims (every token is signed with a "kid" from the key ring, and those carry the claims).
+     */
+    public VerifiedTokenCache.VerifiedToken verifyJwtToken(String token) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        UserDetailsImpl principal = userDetailsFromClaims(claims);
+        if (principal == null) {
+            logger.warn("JwtUtils: JWT for {} lacks the id/roles/version claims.", claims.getSubject());
+            return null;
+        }
+        VerifiedTokenCache.VerifiedToken verified = new VerifiedTokenCache.VerifiedToken(
+                claims.getSubject(), principal, claims.getExpiration().getTime());
+        verifiedTokenCache.put(token, verified);
+        return verified;
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    @SuppressWarnings("unchecked")
+    private UserDetailsImpl userDetailsFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || roles == null || tokenVersion == null) {
+            return null;
+        }
+        return UserDetailsImpl.fromClaims(userId.longValue(), claims.getSubject(), roles, tokenVersion.intValue());
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
             logger.debug("JwtUtils: Token is valid.");
-            return true;
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("JwtUtils: Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -89,7 +142,7 @@ public class JwtUtils {
         } catch (SignatureException e) { // Catches signature mismatch
             logger.error("JwtUtils: Invalid JWT signature: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     // Helper method to parse JWT from request header (remains the same)
@@ -104,11 +157,4 @@ public class JwtUtils {
         logger.debug("JwtUtils: No Bearer token found in Authorization header.");
         return null;
     }
-
-    // NEW: Helper method to generate a random secret
-    private String generateRandomSecret(int length) {
-        byte[] secretBytes = new byte[length];
-        new java.security.SecureRandom().nextBytes(secretBytes);
-        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
-    }
 }
@@ -0,0 +1,106 @@
+// src/main/java/com/example/backend/security/jwt/VerifiedTokenCache.java
+package com.example.backend.security.jwt;
+
+import com.example.backend.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified.
+ * Entries are keyed by a SHA-256 hash of the token (the raw token is never stored) and are
+ * dropped once the token's own expiry passes, so a repeat request with the same token
+ * costs one hash lookup instead of a full signature verification.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${backend.app.jwtCacheMaxEntries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Result of a successful verification.
+     * @param username The subject of the token.
+     * @param principal The principal rebuilt from the claims.
+     * @param expiresAtMillis The token's "exp" claim in epoch milliseconds.
+     */
+    public record VerifiedToken(String username, UserDetailsImpl principal, long expiresAtMillis) {
+    }
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken verified = entries.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+        }
+        if (entries.size() >= maxEntries) {
+            evictSoonestExpiring(maxEntries / 10 + 1);
+        }
+        entries.put(hash(token), verified);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every entry whose token has expired. Also runs periodically so memory
+     * is reclaimed even for tokens that are never presented again.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().expiresAtMillis() <= now);
+    }
+
+    // Only reached when the cache is full of live tokens: drop the ones closest to expiry first.
+    private void evictSoonestExpiring(int count) {
+        entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue((a, b) -> Long.compare(a.expiresAtMillis(), b.expiresAtMillis())))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+        logger.debug("VerifiedTokenCache: Cache full, evicted {} entries closest to expiry.", count);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
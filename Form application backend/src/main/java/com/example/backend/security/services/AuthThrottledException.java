@@ -0,0 +1,20 @@
+package com.example.backend.security.services;
+
+/**
+ * Thrown when a sign-in or sign-up request is refused by admission control,
+ * either because a rate limit was hit or because every password hashing slot is taken.
+ * Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+public class AuthThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AuthThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.backend.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket throttling for the sign-in and sign-up endpoints, per client IP and per username.
+ * Requests are refused here, before any BCrypt work is queued, so one noisy client or a credential
+ * stuffing run against a single account cannot monopolize the password hashing slots.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private final ConcurrentHashMap<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    @Value("${backend.app.auth.ipBucketCapacity:20}")
+    private int ipCapacity;
+
+    @Value("${backend.app.auth.ipRefillPerMinute:60}")
+    private int ipRefillPerMinute;
+
+    @Value("${backend.app.auth.usernameBucketCapacity:5}")
+    private int usernameCapacity;
+
+    @Value("${backend.app.auth.usernameRefillPerMinute:10}")
+    private int usernameRefillPerMinute;
+
+    /**
+     * Takes one token from both the IP bucket and the username bucket.
+     * @param clientIp The remote address of the request.
+     * @param username The username being signed in or registered (may be null).
+     * @throws AuthThrottledException if either bucket is empty.
+     */
+    public void acquire(String clientIp, String username) {
+        TokenBucket ipBucket = ipBuckets.computeIfAbsent(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerMinute));
+        long ipWait = ipBucket.tryConsume();
+        if (ipWait > 0) {
+            throttled.increment();
+            logger.warn("LoginRateLimiter: Throttling IP {}", clientIp);
+            throw new AuthThrottledException("Too many authentication attempts from this address. Please retry later.", ipWait);
+        }
+
+        if (username != null) {
+            String key = username.toLowerCase();
+            TokenBucket usernameBucket = usernameBuckets.computeIfAbsent(key, k -> new TokenBucket(usernameCapacity, usernameRefillPerMinute));
+            long usernameWait = usernameBucket.tryConsume();
+            if (usernameWait > 0) {
+                throttled.increment();
+                logger.warn("LoginRateLimiter: Throttling username {}", username);
+                throw new AuthThrottledException("Too many authentication attempts for this account. Please retry later.", usernameWait);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedIps", ipBuckets.size());
+        stats.put("trackedUsernames", usernameBuckets.size());
+        stats.put("throttled", throttled.sum());
+        return stats;
+    }
+
+    /**
+     * Drops buckets that have refilled completely; they behave exactly like a fresh bucket.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdleBuckets() {
+        ipBuckets.values().removeIf(TokenBucket::isFull);
+        usernameBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / 60_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the seconds until one becomes available.
+         */
+        synchronized long tryConsume() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000.0);
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
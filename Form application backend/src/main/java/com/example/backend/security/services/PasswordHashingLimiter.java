@@ -0,0 +1,120 @@
+package com.example.backend.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for BCrypt work (password verification at sign-in and hashing at sign-up).
+ * At most hashThreads hashes run at once, each on the request thread that needs it, so a burst of logins
+ * cannot take every CPU from the other endpoints. Up to hashQueueCapacity further requests wait for a permit,
+ * each for at most hashTimeoutMs; beyond that, requests fail fast with an AuthThrottledException.
+ * The timeout only bounds the wait for a permit: BCrypt cannot be interrupted, so a hash that has started
+ * always runs to completion and holds its permit until then.
+ */
+@Component
+public class PasswordHashingLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingLimiter.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long timeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    // Metrics
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+
+    public PasswordHashingLimiter(@Value("${backend.app.auth.hashThreads:0}") int threads,
+                                  @Value("${backend.app.auth.hashQueueCapacity:64}") int queueCapacity,
+                                  @Value("${backend.app.auth.hashTimeoutMs:5000}") long timeoutMs) {
+        this.maxConcurrent = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(maxConcurrent, true); // Fair: waiters are admitted in arrival order
+        this.maxWaiting = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        logger.info("PasswordHashingLimiter: {} concurrent hash(es), up to {} waiting.", maxConcurrent, queueCapacity);
+    }
+
+    /**
+     * Runs a password hashing/verification task on the calling thread once a permit is free.
+     * Runtime exceptions thrown by the task (e.g. BadCredentialsException) are rethrown unchanged.
+     * @param task The BCrypt-bound work.
+     * @return The task's result.
+     * @throws AuthThrottledException if too many requests are already waiting, or no permit frees up in time.
+     */
+    public <T> T execute(Callable<T> task) {
+        if (!permits.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                rejected.increment();
+                logger.warn("PasswordHashingLimiter: {} request(s) already waiting, rejecting request.", maxWaiting);
+                throw new AuthThrottledException("Too many authentication requests. Please retry shortly.", estimatedWaitSeconds());
+            }
+            try {
+                if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    throw new AuthThrottledException("Authentication is taking too long. Please retry shortly.", estimatedWaitSeconds());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Password hashing failed.", e);
+        } finally {
+            permits.release();
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            totalHashNanos.add(elapsed);
+            maxHashNanos.accumulate(elapsed);
+        }
+    }
+
+    /**
+     * @return Waiting requests, running hashes and hash latency, for the admin metrics endpoint.
+     */
+    public Map<String, Object> getStats() {
+        long count = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("running", maxConcurrent - permits.availablePermits());
+        stats.put("waiting", waiting.get());
+        stats.put("maxWaiting", maxWaiting);
+        stats.put("completed", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("avgHashMillis", count == 0 ? 0.0 : totalHashNanos.sum() / (double) count / 1_000_000);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    // Rough time until the current backlog drains, used for the Retry-After header.
+    private long estimatedWaitSeconds() {
+        long count = completed.sum();
+        double avgMillis = count == 0 ? 100.0 : totalHashNanos.sum() / (double) count / 1_000_000;
+        double backlogMillis = (waiting.get() + maxConcurrent - permits.availablePermits()) * avgMillis / maxConcurrent;
+        return (long) Math.ceil(backlogMillis / 1000.0);
+    }
+}
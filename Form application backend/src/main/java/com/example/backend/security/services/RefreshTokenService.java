@@ -0,0 +1,132 @@
+package com.example.backend.security.services;
+
+import com.example.backend.model.RefreshToken;
+import com.example.backend.model.User;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ * Refresh tokens are random opaque strings; only their SHA-256 hash is persisted, so exchanging one
+ * costs a hash and an indexed lookup instead of a BCrypt check against the user's password.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_LENGTH_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${backend.app.jwtRefreshExpirationMs}")
+    private long refreshExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Outcome of a successful rotation: the principal to issue a new access token for,
+     * and the refresh token that replaces the one just consumed.
+     */
+    public record Rotation(UserDetailsImpl userDetails, String refreshToken) {
+    }
+
+    /**
+     * Creates a new refresh token for a user.
+     * @param userId The ID of the user.
+     * @return The raw token to hand to the client. It cannot be recovered later.
+     */
+    @Transactional
+    public String createRefreshToken(Long userId) {
+        String rawToken = generateToken();
+        RefreshToken refreshToken = new RefreshToken(null, hash(rawToken), userRepository.getReferenceById(userId),
+                Instant.now().plusMillis(refreshExpirationMs));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    /**
+     * Consumes a refresh token and issues its replacement.
+     * The old token is deleted in the same transaction, so it can be used at most once even under concurrent requests.
+     * @param rawToken The refresh token presented by the client.
+     * @return The rotation result, or empty if the token is unknown, already used or expired.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (stored.isEmpty() || refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            logger.warn("RefreshTokenService: Unknown or already used refresh token presented.");
+            return Optional.empty();
+        }
+        RefreshToken refreshToken = stored.get();
+        if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
+            logger.info("RefreshTokenService: Expired refresh token presented for user ID {}", refreshToken.getUser().getId());
+            return Optional.empty();
+        }
+
+        User user = refreshToken.getUser();
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user); // Loads the current roles and token version
+        return Optional.of(new Rotation(userDetails, createRefreshToken(user.getId())));
+    }
+
+    /**
+     * Revokes a single refresh token (sign-out from one device).
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.deleteByTokenHash(hash(rawToken));
+    }
+
+    /**
+     * Revokes every refresh token of a user, e.g. after a password change or before deleting the user.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.deleteByUserId(userId);
+        logger.info("RefreshTokenService: Revoked {} refresh token(s) for user ID {}", revoked, userId);
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("RefreshTokenService: Purged {} expired refresh token(s).", purged);
+        }
+    }
+
+    private String generateToken() {
+        byte[] tokenBytes = new byte[TOKEN_LENGTH_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.backend.security.services;
+
+import com.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of the current token version of recently seen users.
+ * A JWT is only accepted when its "ver" claim matches the version held here, so bumping a user's
+ * version (or revoking the user) invalidates all of their outstanding tokens without a per-request DB hit.
+ * Versions are loaded from the database when a user is first seen (outside the map, so a slow query never blocks
+ * other users), set directly by the admin update/delete paths, and dropped after a TTL or on a UserChangedEvent;
+ * a dropped entry is simply loaded again. Loads are not kept while the map is full or when they overlap an update.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+    private static final int REVOKED = -1;
+
+    private record Entry(int version, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<Long, Entry> versions = new ConcurrentHashMap<>();
+    // Bumped by every update and revocation; a load that started before one does not cache its (maybe stale) result
+    private final AtomicLong writes = new AtomicLong();
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMs;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${backend.app.tokenVersions.maxEntries:100000}") int maxEntries,
+                                @Value("${backend.app.tokenVersions.ttlMs:600000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Checks whether a token issued with the given version is still valid for the user.
+     * @param userId The ID of the user the token was issued to.
+     * @param tokenVersion The version carried by the token.
+     * @return true if the user still exists and the version is current.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        Entry entry = versions.get(userId);
+        int current;
+        if (entry != null && entry.expiresAtMillis() > System.currentTimeMillis()) {
+            current = entry.version();
+        } else {
+            long writesBefore = writes.get();
+            logger.debug("TokenVersionRegistry: Loading token version for user ID: {}", userId);
+            current = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+            if (versions.size() >= maxEntries) {
+                evictExpired();
+            }
+            if (versions.size() < maxEntries && writes.get() == writesBefore) {
+                Entry loaded = new Entry(current, System.currentTimeMillis() + ttlMs);
+                if (entry == null) {
+                    versions.putIfAbsent(userId, loaded);
+                } else {
+                    versions.replace(userId, entry, loaded); // Only the expired entry we saw, never a newer one
+                }
+            }
+        }
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    /**
+     * Records the new token version of a user after an update.
+     */
+    public void update(Long userId, Integer tokenVersion) {
+        writes.incrementAndGet();
+        versions.put(userId, new Entry(tokenVersion, System.currentTimeMillis() + ttlMs));
+        logger.info("TokenVersionRegistry: Token version for user ID {} is now {}", userId, tokenVersion);
+    }
+
+    /**
+     * Revokes all tokens of a deleted user.
+     */
+    public void revoke(Long userId) {
+        writes.incrementAndGet();
+        versions.put(userId, new Entry(REVOKED, System.currentTimeMillis() + ttlMs));
+        logger.info("TokenVersionRegistry: Revoked all tokens for user ID {}", userId);
+    }
+
+    /**
+     * Drops the cached version of a user that was created, updated or deleted.
+     * Runs after the change has committed, so the next check loads the committed version.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            writes.incrementAndGet();
+            versions.remove(event.userId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${backend.app.tokenVersions.ttlMs:600000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        versions.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+}
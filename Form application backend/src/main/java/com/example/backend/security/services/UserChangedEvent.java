@@ -0,0 +1,10 @@
+package com.example.backend.security.services;
+
+/**
+ * Published whenever a user is created, updated or deleted, so in-memory views of that user
+ * (such as the principal cache in UserDetailsServiceImpl) can be invalidated precisely.
+ * @param userId The ID of the user, or null if not yet known.
+ * @param username The username before the change.
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
@@ -24,6 +24,9 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    @JsonIgnore
+    private Integer tokenVersion;
+
     public static UserDetailsImpl build(User user) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority(role.getName().name()))
@@ -33,7 +36,20 @@ public class UserDetailsImpl implements UserDetails {
                 user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getTokenVersion());
+    }
+
+    /**
+     * Builds a principal from the claims of an already verified JWT, without touching the database.
+     * The password is left null since it is never needed once the token has been verified.
+     */
+    public static UserDetailsImpl fromClaims(Long id, String username, List<String> roles, Integer tokenVersion) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id, username, null, authorities, tokenVersion);
     }
 
     @Override
@@ -2,25 +2,143 @@ package com.example.backend.security.services;
 
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository; // Make sure this path is correct
-import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService; // This is the interface from Spring Security
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads principals by username, backed by a bounded in-process cache of built UserDetailsImpl objects.
+ * Entries expire after a TTL and are evicted as soon as a UserChangedEvent is published for the user,
+ * so a cache hit never touches MySQL (not even to open a transaction).
+ * A load that overlaps an eviction of the same user is returned but not cached: each username maps to a
+ * generation counter that evictions bump, and a loaded principal is only kept if its counter did not move.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService { // This class implements the Spring interface
 
-    @Autowired
-    UserRepository userRepository;
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentHashMap<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    // Per-username generations, striped by hash to bound memory; a collision only skips a cache fill
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final int maxEntries;
+    private final long ttlMs;
+
+    // Statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record CachedPrincipal(UserDetailsImpl userDetails, long expiresAtMillis) {
+    }
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${backend.app.principalCache.maxEntries:10000}") int maxEntries,
+                                  @Value("${backend.app.principalCache.ttlMs:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+    }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        CachedPrincipal cached = cache.get(username);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.userDetails();
+        }
+        misses.increment();
+        long generation = generations.get(stripe(username));
+
+        // Roles are lazy, so the user is loaded and built inside one read-only transaction
+        UserDetailsImpl userDetails = readOnlyTransaction.execute(status -> {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+            return UserDetailsImpl.build(user); // Calls the build method from UserDetailsImpl
+        });
+
+        if (cache.size() >= maxEntries) {
+            evictExpired();
+        }
+        if (cache.size() < maxEntries && generations.get(stripe(username)) == generation) {
+            CachedPrincipal entry = new CachedPrincipal(userDetails, System.currentTimeMillis() + ttlMs);
+            cache.put(username, entry);
+            // An eviction bumps the generation before removing, so one that ran since the check above is seen here
+            if (generations.get(stripe(username)) != generation) {
+                cache.remove(username, entry);
+            }
+        }
+        return userDetails;
+    }
+
+    /**
+     * Evicts every cached principal of a user that was created, updated or deleted.
+     * Matches on both the ID and the username, so a renamed user's old entry is removed too.
+     * Runs after the change has committed; a load that read the old row before then is not cached.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        int before = cache.size();
+        if (event.username() != null) {
+            generations.incrementAndGet(stripe(event.username()));
+            cache.remove(event.username());
+        }
+        if (event.userId() != null) {
+            cache.entrySet().removeIf(entry -> {
+                if (!Objects.equals(entry.getValue().userDetails().getId(), event.userId())) {
+                    return false;
+                }
+                generations.incrementAndGet(stripe(entry.getKey()));
+                return true;
+            });
+        }
+        int evicted = before - cache.size();
+        evictions.add(Math.max(0, evicted));
+        logger.debug("UserDetailsServiceImpl: Evicted {} cached principal(s) for user {} ({})", evicted, event.userId(), event.username());
+    }
+
+    public Map<String, Object> getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : hitCount / (double) (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_STRIPES);
+    }
 
-        return UserDetailsImpl.build(user); // Calls the build method from UserDetailsImpl
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = cache.size();
+        cache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        evictions.add(Math.max(0, before - cache.size()));
     }
-}
\ No newline at end of file
+}
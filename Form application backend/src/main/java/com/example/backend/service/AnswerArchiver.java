@@ -0,0 +1,187 @@
+// src/main/java/com/example/backend/service/AnswerArchiver.java
+package com.example.backend.service;
+
+import com.example.backend.model.Form;
+import com.example.backend.model.FormStatus;
+import com.example.backend.repository.FormRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves the answers of closed forms from the live answers table to answers_archive (with their selections),
+ * and moves them back when a form is reopened. Keeps the live table, and every index on it, limited to open forms.
+ * Rows are moved in small chunks, one short transaction each with a pause in between, so the submission path
+ * never waits long on locks. Each chunk first takes a shared lock on the form row, so a concurrent reopen
+ * cannot interleave with a chunk. Option counts are unaffected; readers see both tiers through AnswerRecordRepository.
+ */
+@Service
+public class AnswerArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerArchiver.class);
+
+    private static final String LOCK_FORM_SQL = "SELECT status FROM forms WHERE id = ? LOCK IN SHARE MODE";
+
+    private static final String LIVE_CHUNK_SQL =
+            "SELECT a.id FROM answers a JOIN question q ON q.id = a.question_id WHERE q.form_id = ? ORDER BY a.id LIMIT ?";
+    private static final String ARCHIVE_ANSWERS_SQL =
+            "INSERT INTO answers_archive (id, question_id, user_id, response, form_version_id, updated_at, archived_at) " +
+            "SELECT id, question_id, user_id, response, form_version_id, updated_at, :archivedAt FROM answers WHERE id IN (:ids)";
+    private static final String ARCHIVE_SELECTIONS_SQL =
+            "INSERT INTO answer_selections_archive (answer_id, option_id) " +
+            "SELECT answer_id, option_id FROM answer_selections WHERE answer_id IN (:ids)";
+    // Selections go with the answers (ON DELETE CASCADE)
+    private static final String DELETE_LIVE_SQL = "DELETE FROM answers WHERE id IN (:ids)";
+
+    private static final String ARCHIVED_CHUNK_SQL =
+            "SELECT r.id FROM answers_archive r JOIN question q ON q.id = r.question_id WHERE q.form_id = ? ORDER BY r.id LIMIT ?";
+    // IGNORE: a live answer for the same user and question wins (the form does not accept answers before the restore ends)
+    private static final String RESTORE_ANSWERS_SQL =
+            "INSERT IGNORE INTO answers (id, question_id, user_id, response, form_version_id, updated_at) " +
+            "SELECT id, question_id, user_id, response, form_version_id, updated_at FROM answers_archive WHERE id IN (:ids)";
+    private static final String RESTORE_SELECTIONS_SQL =
+            "INSERT IGNORE INTO answer_selections (answer_id, option_id) " +
+            "SELECT s.answer_id, s.option_id FROM answer_selections_archive s JOIN answers a ON a.id = s.answer_id " +
+            "WHERE s.answer_id IN (:ids)";
+    private static final String DELETE_ARCHIVED_SQL = "DELETE FROM answers_archive WHERE id IN (:ids)";
+
+    // Only once no live answer is left: one committed after the last chunk was read would otherwise stay live for good
+    private static final String MARK_ARCHIVED_SQL = "UPDATE forms f SET f.archived_at = ? WHERE f.id = ? AND f.status = 'CLOSED' " +
+            "AND NOT EXISTS (SELECT 1 FROM answers a JOIN question q ON q.id = a.question_id WHERE q.form_id = f.id)";
+    private static final String MARK_RESTORED_SQL = "UPDATE forms SET archived_at = NULL WHERE id = ? AND status = 'OPEN'";
+
+    private final FormRepository formRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+    private volatile long lastRunMillis;
+
+    @Value("${backend.app.archive.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${backend.app.archive.maxChunksPerRun:200}")
+    private int maxChunksPerRun;
+
+    @Value("${backend.app.archive.pauseMs:50}")
+    private long pauseMs;
+
+    public AnswerArchiver(FormRepository formRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher) {
+        this.formRepository = formRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${backend.app.archive.intervalMs:60000}", initialDelayString = "${backend.app.archive.intervalMs:60000}")
+    public void run() {
+        lastRunMillis = System.currentTimeMillis();
+        int budget = maxChunksPerRun;
+        try {
+            for (Form form : formRepository.findByStatusAndArchivedAtIsNull(FormStatus.CLOSED)) {
+                budget = moveForm(form.getId(), FormStatus.CLOSED, budget);
+                if (budget == 0) {
+                    return;
+                }
+            }
+            for (Form form : formRepository.findByStatusAndArchivedAtIsNotNull(FormStatus.OPEN)) {
+                budget = moveForm(form.getId(), FormStatus.OPEN, budget);
+                if (budget == 0) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("AnswerArchiver: Run failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("archived", archived.sum());
+        stats.put("restored", restored.sum());
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+
+    /**
+     * Archives (CLOSED) or restores (OPEN) a form's answers chunk by chunk until done or out of budget.
+     * @return The remaining chunk budget.
+     */
+    private int moveForm(Long formId, FormStatus expectedStatus, int budget) throws InterruptedException {
+        boolean archive = expectedStatus == FormStatus.CLOSED;
+        long moved = 0;
+        while (budget > 0) {
+            Integer count = transactionTemplate.execute(status -> moveChunk(formId, expectedStatus));
+            budget--;
+            if (count == null) {
+                return budget; // Status changed meanwhile; the next run picks up the new direction
+            }
+            moved += count;
+            if (count < chunkSize) {
+                if (archive) {
+                    if (jdbcTemplate.update(MARK_ARCHIVED_SQL, Timestamp.from(Instant.now()), formId) == 0) {
+                        continue; // New live answers (or reopened meanwhile): the next chunk moves them or sees the status
+                    }
+                } else {
+                    jdbcTemplate.update(MARK_RESTORED_SQL, formId);
+                }
+                eventPublisher.publishEvent(new FormChangedEvent(formId)); // archivedAt changed
+                logger.info("AnswerArchiver: {} form {} ({} answer(s) this run).", archive ? "Archived" : "Restored", formId, moved);
+                return budget;
+            }
+            Thread.sleep(pauseMs);
+        }
+        return budget;
+    }
+
+    /**
+     * @return The number of answers moved, or null if the form no longer has the expected status.
+     */
+    private Integer moveChunk(Long formId, FormStatus expectedStatus) {
+        List<String> status = jdbcTemplate.queryForList(LOCK_FORM_SQL, String.class, formId);
+        if (status.isEmpty() || !expectedStatus.name().equals(status.get(0))) {
+            return null;
+        }
+        boolean archive = expectedStatus == FormStatus.CLOSED;
+        List<Long> ids = jdbcTemplate.queryForList(archive ? LIVE_CHUNK_SQL : ARCHIVED_CHUNK_SQL, Long.class, formId, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        if (archive) {
+            params.addValue("archivedAt", Timestamp.from(Instant.now()));
+            namedJdbcTemplate.update(ARCHIVE_ANSWERS_SQL, params);
+            namedJdbcTemplate.update(ARCHIVE_SELECTIONS_SQL, params);
+            namedJdbcTemplate.update(DELETE_LIVE_SQL, params);
+            archived.add(ids.size());
+        } else {
+            namedJdbcTemplate.update(RESTORE_ANSWERS_SQL, params);
+            namedJdbcTemplate.update(RESTORE_SELECTIONS_SQL, params);
+            namedJdbcTemplate.update(DELETE_ARCHIVED_SQL, params);
+            restored.add(ids.size());
+        }
+        return ids.size();
+    }
+}
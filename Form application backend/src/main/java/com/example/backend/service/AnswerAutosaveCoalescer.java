@@ -0,0 +1,262 @@
+// src/main/java/com/example/backend/service/AnswerAutosaveCoalescer.java
+package com.example.backend.service;
+
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.User;
+import com.example.backend.repository.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces autosave edits (PATCH /api/answers/autosave) in memory and writes only the latest value
+ * of each (user, question) once per flush window, in upsert batches.
+ * A user typing a long text answer produces one row write per window instead of one per keystroke.
+ * Pending edits live in a fixed number of stripes keyed by user id, so concurrent users rarely contend
+ * on the same lock and a flush only holds each stripe's map lock long enough to swap the map out.
+ * While a swapped-out batch is being written, the stripe's write lock is held, so {@link #discard}
+ * can wait for an in-flight write instead of racing it.
+ */
+@Service
+public class AnswerAutosaveCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerAutosaveCoalescer.class);
+    private static final int STRIPES = 32;
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final AnswerSelectionService answerSelectionService;
+    private final QuestionRepository questionRepository;
+
+    // Stripe i holds the users with floorMod(userId.hashCode(), STRIPES) == i: userId -> (questionId -> edit)
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder edits = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Value("${backend.app.answers.autosaveMaxPendingPerUser:500}")
+    private int maxPendingPerUser;
+
+    // The latest response to one question and the form version it was typed against (null if the client sent none)
+    private record Edit(String response, Long formVersionId) {
+    }
+
+    // Lock order: a stripe's write lock before its monitor; write locks of several stripes in index order
+    private static final class Stripe {
+        private final ReentrantLock writing = new ReentrantLock();
+        private Map<Long, Map<Long, Edit>> pending = new HashMap<>();
+    }
+
+    public AnswerAutosaveCoalescer(AnswerSelectionService answerSelectionService, QuestionRepository questionRepository) {
+        this.answerSelectionService = answerSelectionService;
+        this.questionRepository = questionRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Records the latest value of one answer. Replaces any value not yet written for the same question.
+     * @param formVersionId The published form version being answered, validated when written like a full submission's.
+     * @return false if the user already has too many distinct questions pending.
+     * @throws IllegalArgumentException if the response is longer than an answer can hold.
+     */
+    public boolean record(Long userId, Long questionId, String response, Long formVersionId) {
+        if (response != null && response.getBytes(StandardCharsets.UTF_8).length > Answer.MAX_RESPONSE_BYTES) {
+            throw new IllegalArgumentException("Error: Response to question " + questionId + " is too long.");
+        }
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            Map<Long, Edit> userEdits = stripe.pending.computeIfAbsent(userId, id -> new LinkedHashMap<>());
+            if (!userEdits.containsKey(questionId) && userEdits.size() >= maxPendingPerUser) {
+                return false;
+            }
+            userEdits.put(questionId, new Edit(response, formVersionId));
+        }
+        edits.increment();
+        return true;
+    }
+
+    /**
+     * Drops pending edits that a full submission is about to overwrite, so a late flush cannot revert it.
+     * If a flush has already taken this user's edits and is still writing them, waits for that write to finish
+     * first; the submission then commits after it.
+     */
+    public void discard(Long userId, Collection<Long> questionIds) {
+        Stripe stripe = stripeFor(userId);
+        stripe.writing.lock();
+        try {
+            synchronized (stripe) {
+                Map<Long, Edit> userEdits = stripe.pending.get(userId);
+                if (userEdits != null) {
+                    questionIds.forEach(userEdits::remove);
+                    if (userEdits.isEmpty()) {
+                        stripe.pending.remove(userId);
+                    }
+                }
+            }
+        } finally {
+            stripe.writing.unlock();
+        }
+    }
+
+    /**
+     * Writes one user's pending edits now, e.g. before reading their answers back.
+     */
+    public void flushUser(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.writing.lock();
+        try {
+            Map<Long, Edit> userEdits;
+            synchronized (stripe) {
+                userEdits = stripe.pending.remove(userId);
+            }
+            if (userEdits != null) {
+                write(Map.of(userId, userEdits));
+            }
+        } finally {
+            stripe.writing.unlock();
+        }
+    }
+
+    /**
+     * Writes every pending edit. Each stripe's map is swapped out under its monitor; the database work happens
+     * outside it, under the write locks of the stripes that had edits.
+     */
+    @Scheduled(fixedDelayString = "${backend.app.answers.autosaveFlushMs:2000}")
+    public void flush() {
+        Map<Long, Map<Long, Edit>> batch = new HashMap<>();
+        List<Stripe> locked = new ArrayList<>();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.writing.lock();
+                boolean taken = false;
+                synchronized (stripe) {
+                    if (!stripe.pending.isEmpty()) {
+                        batch.putAll(stripe.pending);
+                        stripe.pending = new HashMap<>();
+                        taken = true;
+                    }
+                }
+                if (taken) {
+                    locked.add(stripe); // Held until the batch is written
+                } else {
+                    stripe.writing.unlock();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            locked.forEach(stripe -> stripe.writing.unlock());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        int pendingUsers = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                pendingUsers += stripe.pending.size();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("edits", edits.sum());
+        stats.put("rowsWritten", written.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("pendingUsers", pendingUsers);
+        return stats;
+    }
+
+    private void write(Map<Long, Map<Long, Edit>> batch) {
+        Set<Long> questionIds = new HashSet<>();
+        batch.values().forEach(userEdits -> questionIds.addAll(userEdits.keySet()));
+        Map<Long, Question> questions = questionRepository.findAllWithFormByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        List<Answer> answers = new ArrayList<>();
+        batch.forEach((userId, userEdits) -> userEdits.forEach((questionId, edit) -> {
+            if (!questions.containsKey(questionId) || !FormLifecycleService.acceptsAnswers(questions.get(questionId))) {
+                dropped.increment(); // Question deleted or never existed, or its form was closed
+                return;
+            }
+            User user = new User();
+            user.setId(userId);
+            Question question = new Question();
+            question.setId(questionId);
+            answers.add(new Answer(null, question, user, edit.response(), edit.formVersionId(), null));
+        }));
+
+        for (int from = 0; from < answers.size(); from += FLUSH_BATCH_SIZE) {
+            List<Answer> chunk = answers.subList(from, Math.min(from + FLUSH_BATCH_SIZE, answers.size()));
+            try {
+                answerSelectionService.upsertWithSelections(chunk, questions, false); // Extra checkbox selections are dropped
+                written.add(chunk.size());
+            } catch (RuntimeException e) {
+                if (AnswerIngestionService.isTransient(e)) {
+                    logger.warn("AnswerAutosaveCoalescer: Writing {} autosaved answer(s) failed, requeueing: {}", chunk.size(), e.getMessage());
+                    requeue(chunk);
+                } else {
+                    logger.warn("AnswerAutosaveCoalescer: Writing {} autosaved answer(s) failed ({}), writing them one by one.",
+                            chunk.size(), e.getMessage());
+                    writeOneByOne(chunk, questions);
+                }
+            }
+        }
+    }
+
+    // Isolates the edits a chunk failed on: those are dropped, not requeued, or they would fail every flush
+    private void writeOneByOne(List<Answer> chunk, Map<Long, Question> questions) {
+        for (Answer answer : chunk) {
+            try {
+                answerSelectionService.upsertWithSelections(List.of(answer), questions, false);
+                written.increment();
+            } catch (RuntimeException e) {
+                if (AnswerIngestionService.isTransient(e)) {
+                    requeue(List.of(answer));
+                } else {
+                    dropped.increment();
+                    logger.error("AnswerAutosaveCoalescer: Dropping autosave of question {} for user {}: {}",
+                            answer.getQuestion().getId(), answer.getUser().getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Puts failed edits back unless a newer value arrived meanwhile
+    private void requeue(List<Answer> answers) {
+        for (Answer answer : answers) {
+            Stripe stripe = stripeFor(answer.getUser().getId());
+            synchronized (stripe) {
+                stripe.pending.computeIfAbsent(answer.getUser().getId(), id -> new LinkedHashMap<>())
+                        .putIfAbsent(answer.getQuestion().getId(), new Edit(answer.getResponse(), answer.getFormVersionId()));
+            }
+        }
+    }
+
+    private Stripe stripeFor(Long userId) {
+        return stripes[Math.floorMod(userId.hashCode(), STRIPES)];
+    }
+}
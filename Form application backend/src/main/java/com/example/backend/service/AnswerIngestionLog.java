@@ -0,0 +1,257 @@
+// src/main/java/com/example/backend/service/AnswerIngestionLog.java
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, fsync'd log of accepted answer submissions on local disk.
+ * Record layout: [int payload length][int CRC32 of payload][payload].
+ * A single writer thread group-commits: every append waiting while the previous fsync ran is written
+ * and forced together, so one fsync covers many submissions under load.
+ * A separate checkpoint file holds the offset up to which records have been applied to the database;
+ * everything after it is replayed after a restart. A torn record at the tail (crash mid-write) is
+ * detected by its length/CRC and cut off on open.
+ */
+public class AnswerIngestionLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerIngestionLog.class);
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_GROUP = 1024;
+    // Once everything is applied and the log is at least this large, it is truncated back to empty
+    private static final long COMPACT_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * A record read from the log, with the offset just past it (the checkpoint once it is applied).
+     */
+    public record LogRecord(long endOffset, byte[] payload) {
+    }
+
+    private record PendingAppend(byte[] payload, CompletableFuture<Long> done) {
+    }
+
+    private final FileChannel channel;
+    private final Path checkpointPath;
+    private final BlockingQueue<PendingAppend> pending;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    // Guarded by this: file end, applied offset and the file contents between them
+    private long durableEnd;
+    private long checkpoint;
+
+    public AnswerIngestionLog(Path directory, int queueCapacity) throws IOException {
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve("answers.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpointPath = directory.resolve("answers.checkpoint");
+        this.checkpoint = Math.min(readCheckpoint(), channel.size());
+        this.durableEnd = recoverTail(checkpoint);
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::writeLoop, "answer-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        logger.info("AnswerIngestionLog: Opened {} ({} byte(s) pending replay).", directory, durableEnd - checkpoint);
+    }
+
+    /**
+     * Queues a payload for the next group commit.
+     * @return A future completed with the record's end offset once it has been forced to disk.
+     * @throws IllegalStateException if the log is closed or the append queue is full.
+     */
+    public CompletableFuture<Long> append(byte[] payload) {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Error: Submission is too large.");
+        }
+        PendingAppend append = new PendingAppend(payload, new CompletableFuture<>());
+        if (!running || !pending.offer(append)) {
+            throw new IllegalStateException("Error: Answer log is not accepting submissions.");
+        }
+        return append.done();
+    }
+
+    /**
+     * Reads up to maxRecords durable records after the checkpoint. Does not advance the checkpoint.
+     */
+    public synchronized List<LogRecord> readPending(int maxRecords) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        long position = checkpoint;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position < durableEnd && records.size() < maxRecords) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            header.getInt(); // CRC was verified when the record was written or recovered
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            position += HEADER_BYTES + length;
+            records.add(new LogRecord(position, payload.array()));
+        }
+        return records;
+    }
+
+    /**
+     * Marks everything up to offset as applied. Truncates the log when it has been fully applied and has grown large.
+     */
+    public synchronized void checkpoint(long offset) throws IOException {
+        checkpoint = offset;
+        if (checkpoint == durableEnd && durableEnd >= COMPACT_THRESHOLD_BYTES) {
+            channel.truncate(0);
+            channel.force(true);
+            checkpoint = 0;
+            durableEnd = 0;
+            logger.info("AnswerIngestionLog: Log fully applied, truncated.");
+        }
+        writeCheckpoint(checkpoint);
+    }
+
+    public synchronized long getPendingBytes() {
+        return durableEnd - checkpoint;
+    }
+
+    public int getQueuedAppends() {
+        return pending.size();
+    }
+
+    /**
+     * Stops accepting appends, commits the ones already queued and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writerThread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                pending.drainTo(group, MAX_GROUP - 1);
+                long end = writeGroup(group);
+                group.forEach(append -> append.done().complete(end));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.error("AnswerIngestionLog: Group commit of {} submission(s) failed: {}", group.size(), e.getMessage());
+                group.forEach(append -> append.done().completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    private synchronized long writeGroup(List<PendingAppend> group) throws IOException {
+        int size = 0;
+        for (PendingAppend append : group) {
+            size += HEADER_BYTES + append.payload().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (PendingAppend append : group) {
+            crc.reset();
+            crc.update(append.payload());
+            buffer.putInt(append.payload().length).putInt((int) crc.getValue()).put(append.payload());
+        }
+        buffer.flip();
+        long position = durableEnd;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        channel.force(false);
+        durableEnd = position; // Only advanced after the fsync; a failed group is overwritten by the next one
+        return position;
+    }
+
+    /**
+     * Walks the records after the checkpoint and cuts the file at the first incomplete or corrupt one.
+     * @return The end of the last valid record.
+     */
+    private long recoverTail(long from) throws IOException {
+        long size = channel.size();
+        long position = from;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (length < 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        if (position < size) {
+            logger.warn("AnswerIngestionLog: Discarding {} byte(s) of incomplete log tail.", size - position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of answer log.");
+            }
+            position += read;
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpointPath);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        Path tmp = checkpointPath.resolveSibling("answers.checkpoint.tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.allocate(Long.BYTES).putLong(0, offset));
+            out.force(true);
+        }
+        Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
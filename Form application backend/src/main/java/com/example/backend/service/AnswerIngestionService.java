@@ -0,0 +1,378 @@
+// src/main/java/com/example/backend/service/AnswerIngestionService.java
+package com.example.backend.service;
+
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.model.User;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind path for POST /api/answers (backend.app.answers.ingestionMode=queued).
+ * A submission is appended to the durable AnswerIngestionLog and acknowledged with a receipt id as soon as
+ * it is on disk; a scheduled drainer applies logged submissions to MySQL in large batches through
+ * AnswerSelectionService.upsertWithSelections. Request threads therefore never hold a database connection for the write,
+ * and submissions that were logged but not yet applied are replayed after a restart.
+ * In the default "sync" mode this service is inactive and submissions are written directly.
+ */
+@Service
+public class AnswerIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerIngestionService.class);
+    private static final String MODE_QUEUED = "queued";
+
+    public enum Status { QUEUED, APPLIED, REJECTED }
+
+    // formVersionId is null in records logged before form versioning
+    public record QueuedAnswer(Long userId, Long questionId, String response, Long formVersionId) {
+    }
+
+    public record QueuedSubmission(String receiptId, List<QueuedAnswer> answers) {
+    }
+
+    public record Receipt(String receiptId, Status status, int answers, String message) {
+    }
+
+    private record ReceiptEntry(Receipt receipt, long updatedAtMillis) {
+    }
+
+    private final UserRepository userRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerSelectionService answerSelectionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, ReceiptEntry> receipts = new ConcurrentHashMap<>();
+
+    @Value("${backend.app.answers.ingestionMode:sync}")
+    private String ingestionMode;
+
+    @Value("${backend.app.answers.logDir:./data/answer-log}")
+    private String logDir;
+
+    @Value("${backend.app.answers.logQueueCapacity:10000}")
+    private int logQueueCapacity;
+
+    @Value("${backend.app.answers.appendTimeoutMs:2000}")
+    private long appendTimeoutMs;
+
+    @Value("${backend.app.answers.drainBatchSize:200}")
+    private int drainBatchSize;
+
+    @Value("${backend.app.answers.receiptRetentionMs:3600000}")
+    private long receiptRetentionMs;
+
+    private volatile AnswerIngestionLog log;
+
+    public AnswerIngestionService(UserRepository userRepository,
+                                  QuestionRepository questionRepository, AnswerSelectionService answerSelectionService,
+                                  PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.questionRepository = questionRepository;
+        this.answerSelectionService = answerSelectionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the log in queued mode and registers receipts for submissions that still need replaying.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!MODE_QUEUED.equalsIgnoreCase(ingestionMode)) {
+            return;
+        }
+        AnswerIngestionLog opened = new AnswerIngestionLog(Path.of(logDir), logQueueCapacity);
+        int replay = 0;
+        for (AnswerIngestionLog.LogRecord record : opened.readPending(Integer.MAX_VALUE)) {
+            QueuedSubmission submission = decode(record.payload());
+            if (submission != null) {
+                markReceipt(submission.receiptId(), Status.QUEUED, submission.answers().size(), "Replaying after restart.");
+                replay++;
+            }
+        }
+        this.log = opened;
+        logger.info("AnswerIngestionService: Queued ingestion enabled, {} submission(s) to replay.", replay);
+    }
+
+    public boolean isQueued() {
+        return log != null;
+    }
+
+    /**
+     * Durably logs a submission and returns its receipt. Blocks only until the submission's group commit is on disk.
+     * If that takes longer than appendTimeoutMs the submission may still be logged and applied later, so the receipt
+     * stays QUEUED (and turns REJECTED if the group commit fails) instead of reporting a failure.
+     * @throws IllegalArgumentException if an answer is missing its user or question, or its response is too long.
+     * @throws IllegalStateException if the log definitely did not take the submission.
+     */
+    public Receipt submit(List<Answer> answers) {
+        List<QueuedAnswer> queued = new ArrayList<>(answers.size());
+        for (Answer answer : answers) {
+            if (answer.getUser() == null || answer.getUser().getId() == null
+                    || answer.getQuestion() == null || answer.getQuestion().getId() == null) {
+                throw new IllegalArgumentException("Error: Each answer needs a user and a question.");
+            }
+            // Checked here: a response the column cannot hold would otherwise fail in the drainer, after the 202
+            if (answer.getResponse() != null
+                    && answer.getResponse().getBytes(StandardCharsets.UTF_8).length > Answer.MAX_RESPONSE_BYTES) {
+                throw new IllegalArgumentException("Error: Response to question " + answer.getQuestion().getId() + " is too long.");
+            }
+            queued.add(new QueuedAnswer(answer.getUser().getId(), answer.getQuestion().getId(), answer.getResponse(),
+                    answer.getFormVersionId()));
+        }
+        QueuedSubmission submission = new QueuedSubmission(UUID.randomUUID().toString(), queued);
+
+        // Registered first so the drainer's APPLIED can never be overwritten by a late QUEUED
+        markReceipt(submission.receiptId(), Status.QUEUED, queued.size(), "Accepted, waiting to be saved.");
+        CompletableFuture<Long> appended;
+        try {
+            appended = log.append(objectMapper.writeValueAsBytes(submission));
+        } catch (IOException | RuntimeException e) {
+            receipts.remove(submission.receiptId()); // Never queued, so never written
+            throw new IllegalStateException("Error: Submission could not be logged: " + e.getMessage(), e);
+        }
+        try {
+            appended.get(appendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            receipts.remove(submission.receiptId()); // The group commit failed, nothing was written
+            throw new IllegalStateException("Error: Submission could not be logged: " + e.getCause().getMessage(), e);
+        } catch (InterruptedException | TimeoutException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Still queued for the writer: it may yet be logged and applied, so the outcome is only known later
+            appended.whenComplete((end, error) -> {
+                if (error != null) {
+                    updateQueuedReceipt(submission.receiptId(), Status.REJECTED, "Error: Submission could not be logged.");
+                }
+            });
+            updateQueuedReceipt(submission.receiptId(), Status.QUEUED, "Accepted, not yet confirmed on disk; check the receipt.");
+        }
+        return receipts.get(submission.receiptId()).receipt();
+    }
+
+    public Optional<Receipt> getReceipt(String receiptId) {
+        return Optional.ofNullable(receipts.get(receiptId)).map(ReceiptEntry::receipt);
+    }
+
+    /**
+     * Applies logged submissions to the database, drainBatchSize submissions per transaction, and advances the checkpoint.
+     * If a batch fails, its submissions are retried one per transaction and those that still fail are rejected,
+     * so one submission the database refuses cannot hold up the ones behind it. Transient errors (connection,
+     * lock, timeout) reject nothing: the checkpoint stays put and the records are retried on the next run;
+     * upserts are idempotent, so re-applying is safe.
+     */
+    @Scheduled(fixedDelayString = "${backend.app.answers.drainIntervalMs:250}")
+    public void drain() {
+        AnswerIngestionLog current = log;
+        if (current == null) {
+            return;
+        }
+        try {
+            List<AnswerIngestionLog.LogRecord> records;
+            do {
+                records = current.readPending(drainBatchSize);
+                if (records.isEmpty()) {
+                    return;
+                }
+                List<QueuedSubmission> submissions = new ArrayList<>(records.size());
+                for (AnswerIngestionLog.LogRecord record : records) {
+                    QueuedSubmission submission = decode(record.payload());
+                    if (submission != null) {
+                        submissions.add(submission);
+                    }
+                }
+                try {
+                    Map<String, String> rejected = transactionTemplate.execute(status -> apply(submissions));
+                    current.checkpoint(records.get(records.size() - 1).endOffset());
+                    markOutcomes(submissions, rejected);
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        throw e;
+                    }
+                    logger.warn("AnswerIngestionService: Batch of {} submission(s) failed ({}), applying them one by one.",
+                            submissions.size(), e.getMessage());
+                    applyOneByOne(current, records);
+                }
+            } while (records.size() == drainBatchSize);
+        } catch (Exception e) {
+            logger.error("AnswerIngestionService: Drain failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Each submission in its own transaction; the checkpoint advances past every record that was applied or rejected
+    private void applyOneByOne(AnswerIngestionLog current, List<AnswerIngestionLog.LogRecord> records) throws IOException {
+        for (AnswerIngestionLog.LogRecord record : records) {
+            QueuedSubmission submission = decode(record.payload());
+            if (submission != null) {
+                try {
+                    Map<String, String> rejected = transactionTemplate.execute(status -> apply(List.of(submission)));
+                    current.checkpoint(record.endOffset());
+                    markOutcomes(List.of(submission), rejected);
+                    continue;
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        throw e; // Stops here; this record and the rest are retried on the next run
+                    }
+                    logger.error("AnswerIngestionService: Rejecting submission {}: {}", submission.receiptId(), e.getMessage());
+                    markReceipt(submission.receiptId(), Status.REJECTED, submission.answers().size(),
+                            "Error: The submission could not be saved.");
+                }
+            }
+            current.checkpoint(record.endOffset());
+        }
+    }
+
+    private void markOutcomes(List<QueuedSubmission> submissions, Map<String, String> rejected) {
+        for (QueuedSubmission submission : submissions) {
+            String reason = rejected.get(submission.receiptId());
+            markReceipt(submission.receiptId(), reason == null ? Status.APPLIED : Status.REJECTED,
+                    submission.answers().size(), reason == null ? "Saved." : reason);
+        }
+    }
+
+    // Errors worth retrying as they are: the database was unreachable, busy or timed out, not the data at fault
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Writes a batch of submissions with one lookup per entity type and one upsert batch.
+     * @return Receipt id -> reason, for submissions that reference unknown users or questions, target a closed form
+     *         or exceed a question's selection limit (nothing of those is written).
+     */
+    private Map<String, String> apply(List<QueuedSubmission> submissions) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (QueuedSubmission submission : submissions) {
+            for (QueuedAnswer answer : submission.answers()) {
+                userIds.add(answer.userId());
+                questionIds.add(answer.questionId());
+            }
+        }
+        Set<Long> knownUsers = userRepository.findAllById(userIds).stream().map(User::getId).collect(Collectors.toSet());
+        Map<Long, Question> questions = questionRepository.findAllWithFormByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        // Loaded once for the whole batch: validation and the write below both match against them
+        Map<Long, List<QuestionOption>> options = answerSelectionService.optionsFor(questions.values());
+
+        Map<String, String> rejected = new LinkedHashMap<>();
+        List<Answer> toWrite = new ArrayList<>();
+        for (QueuedSubmission submission : submissions) {
+            boolean valid = submission.answers().stream()
+                    .allMatch(answer -> knownUsers.contains(answer.userId()) && questions.containsKey(answer.questionId()));
+            if (!valid) {
+                rejected.put(submission.receiptId(), "Error: Unknown user or question in submission.");
+                continue;
+            }
+            if (!submission.answers().stream().allMatch(answer -> FormLifecycleService.acceptsAnswers(questions.get(answer.questionId())))) {
+                rejected.put(submission.receiptId(), "Error: This form is closed."); // Closed after the submission was queued
+                continue;
+            }
+            List<Answer> submissionAnswers = new ArrayList<>();
+            for (QueuedAnswer queued : submission.answers()) {
+                User user = new User();
+                user.setId(queued.userId());
+                Question question = new Question();
+                question.setId(queued.questionId());
+                submissionAnswers.add(new Answer(null, question, user, queued.response(), queued.formVersionId(), null));
+            }
+            try {
+                answerSelectionService.validate(submissionAnswers, questions, options); // Same checks as a synchronous submission
+            } catch (IllegalArgumentException e) {
+                rejected.put(submission.receiptId(), e.getMessage());
+                continue;
+            }
+            toWrite.addAll(submissionAnswers);
+        }
+        // Log order is preserved, so the latest submission wins
+        answerSelectionService.upsertWithSelections(toWrite, questions, options, false);
+        return rejected;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", isQueued() ? MODE_QUEUED : "sync");
+        if (isQueued()) {
+            stats.put("pendingBytes", log.getPendingBytes());
+            stats.put("queuedAppends", log.getQueuedAppends());
+        }
+        stats.put("trackedReceipts", receipts.size());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictOldReceipts() {
+        long cutoff = System.currentTimeMillis() - receiptRetentionMs;
+        receipts.values().removeIf(entry -> entry.receipt().status() != Status.QUEUED && entry.updatedAtMillis() < cutoff);
+    }
+
+    /**
+     * Applies what has been logged so far and closes the log. Anything left is replayed on the next start.
+     */
+    @PreDestroy
+    public void shutdown() throws IOException {
+        AnswerIngestionLog current = log;
+        if (current == null) {
+            return;
+        }
+        drain();
+        log = null;
+        current.close();
+    }
+
+    private void markReceipt(String receiptId, Status status, int answers, String message) {
+        receipts.put(receiptId, new ReceiptEntry(new Receipt(receiptId, status, answers, message), System.currentTimeMillis()));
+    }
+
+    // Changes a receipt only while it is QUEUED, so a late update never overwrites the drainer's outcome
+    private void updateQueuedReceipt(String receiptId, Status status, String message) {
+        receipts.computeIfPresent(receiptId, (id, entry) -> entry.receipt().status() != Status.QUEUED ? entry
+                : new ReceiptEntry(new Receipt(id, status, entry.receipt().answers(), message), System.currentTimeMillis()));
+    }
+
+    private QueuedSubmission decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, QueuedSubmission.class);
+        } catch (IOException e) {
+            logger.error("AnswerIngestionService: Skipping unreadable log record: {}", e.getMessage());
+            return null;
+        }
+    }
+}
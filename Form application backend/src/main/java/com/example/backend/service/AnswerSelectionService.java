@@ -0,0 +1,386 @@
+// src/main/java/com/example/backend/service/AnswerSelectionService.java
+package com.example.backend.service;
+
+import com.example.backend.dto.OptionTallyDTO;
+import com.example.backend.dto.QuestionDTO;
+import com.example.backend.dto.QuestionTallyDTO;
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.AnswerSelectionRepository;
+import com.example.backend.repository.ArchivedAnswerSelectionRepository;
+import com.example.backend.repository.OptionTally;
+import com.example.backend.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Derives answer_selections rows from radio/checkbox responses and writes them next to the answers.
+ * Responses keep their display format ("Git" or "Jira, Slack, Git", joined with ", " by the frontend);
+ * each part is matched to the question's option by text.
+ */
+@Service
+public class AnswerSelectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerSelectionService.class);
+    private static final String SEPARATOR = ", ";
+    private static final int BACKFILL_CHUNK = 1000;
+
+    public record AnswerKey(Long userId, Long questionId) {
+    }
+
+    private final AnswerRepository answerRepository;
+    private final AnswerSelectionRepository answerSelectionRepository;
+    private final ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionCatalog questionOptionCatalog;
+    private final FormVersionService formVersionService;
+    private final FormLifecycleService formLifecycleService;
+    private final FormResultsRollupService formResultsRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AnswerSelectionService(AnswerRepository answerRepository, AnswerSelectionRepository answerSelectionRepository,
+                                  ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository,
+                                  QuestionRepository questionRepository, QuestionOptionCatalog questionOptionCatalog,
+                                  FormVersionService formVersionService, FormLifecycleService formLifecycleService,
+                                  FormResultsRollupService formResultsRollupService, ApplicationEventPublisher eventPublisher) {
+        this.answerRepository = answerRepository;
+        this.answerSelectionRepository = answerSelectionRepository;
+        this.archivedAnswerSelectionRepository = archivedAnswerSelectionRepository;
+        this.questionRepository = questionRepository;
+        this.questionOptionCatalog = questionOptionCatalog;
+        this.formVersionService = formVersionService;
+        this.formLifecycleService = formLifecycleService;
+        this.formResultsRollupService = formResultsRollupService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Resolves the selected option ids of each choice answer. Answers to text questions are skipped.
+     * An answer stamped with a form version is checked against the question as published in that version
+     * (type, options and maxSelections), not against the draft, which admins may have edited since.
+     * @param questions The questions referenced by the answers, by ID.
+     * @param strict If true, more selections than maxSelections (or more than one for radio), or a response naming
+     *               an option the question does not offer, is an error; otherwise the extra selections are dropped
+     *               and unknown options ignored.
+     * @throws IllegalArgumentException in strict mode when a question's selection limit is exceeded, an option is unknown,
+     *         or when the question is not part of the version the answer was given against.
+     */
+    public Map<AnswerKey, Set<Long>> resolve(Collection<Answer> answers, Map<Long, Question> questions, boolean strict) {
+        return resolve(answers, questions, optionsFor(questions.values()), strict);
+    }
+
+    /**
+     * Same as {@link #resolve(Collection, Map, boolean)}, with option rows the caller loaded once for several calls.
+     * @param options See {@link #optionsFor}; must cover the answers' questions.
+     */
+    public Map<AnswerKey, Set<Long>> resolve(Collection<Answer> answers, Map<Long, Question> questions,
+                                             Map<Long, List<QuestionOption>> options, boolean strict) {
+        Map<AnswerKey, Set<Long>> selections = new LinkedHashMap<>();
+        for (Answer answer : answers) {
+            Question question = questions.get(answer.getQuestion().getId());
+            if (question == null) {
+                continue;
+            }
+            String type = question.getType();
+            Integer maxSelections = question.getMaxSelections();
+            List<QuestionOption> offered = options.getOrDefault(question.getId(), List.of());
+            if (answer.getFormVersionId() != null) {
+                Optional<QuestionDTO> published = formVersionService.questionAt(answer.getFormVersionId(), question.getId());
+                if (published.isEmpty()) {
+                    if (strict) {
+                        throw new IllegalArgumentException("Error: Question " + question.getId() + " is not part of the form version being answered.");
+                    }
+                    continue;
+                }
+                type = published.get().getType();
+                maxSelections = published.get().getMaxSelections();
+                Set<String> texts = new HashSet<>(published.get().getOptions());
+                // Option rows are kept (retired) when the draft renames or drops an option, so every published text has one
+                offered = offered.stream().filter(option -> texts.contains(option.getOptionText())).toList();
+            }
+            if (!QuestionOptionCatalog.isChoiceType(type)) {
+                continue;
+            }
+            List<String> unmatched = new ArrayList<>();
+            Set<Long> selected = match(answer.getResponse(), offered, unmatched);
+            if (!unmatched.isEmpty()) {
+                if (strict) {
+                    throw new IllegalArgumentException("Error: Question " + question.getId() + " does not offer "
+                            + String.join(", ", unmatched.stream().map(text -> "\"" + text + "\"").toList()) + ".");
+                }
+                logger.debug("AnswerSelectionService: Ignoring unknown option(s) {} in an answer to question {}.", unmatched, question.getId());
+            }
+            int limit = "radio".equalsIgnoreCase(type) ? 1
+                    : maxSelections != null && maxSelections > 0 ? maxSelections : Integer.MAX_VALUE;
+            if (selected.size() > limit) {
+                if (strict) {
+                    throw new IllegalArgumentException("Error: At most " + limit + " option(s) can be selected for question " + question.getId() + ".");
+                }
+                selected = selected.stream().limit(limit).collect(Collectors.toCollection(LinkedHashSet::new));
+            }
+            selections.put(new AnswerKey(answer.getUser().getId(), question.getId()), selected);
+        }
+        return selections;
+    }
+
+    /**
+     * Upserts answers natively and replaces their selections, in the caller's transaction.
+     * Each answer is stamped with the form version it was given against (see FormVersionService.stampVersions)
+     * and validated against that version. The forms are re-checked under a shared row lock first
+     * (see FormLifecycleService.lockForAnswers), so no answer lands after its form was closed.
+     * @param questions The questions referenced by the answers, with their forms, by ID.
+     * @param strict See {@link #resolve}; validation happens before anything is written. Otherwise answers to
+     *               closed forms, or to questions that are not part of their version, are left out.
+     * @throws IllegalArgumentException in strict mode, also if a form was closed meanwhile.
+     * @return Option ID -> change in selection count.
+     */
+    @Transactional
+    public Map<Long, Integer> upsertWithSelections(List<Answer> answers, Map<Long, Question> questions, boolean strict) {
+        return upsertWithSelections(answers, questions, optionsFor(questions.values()), strict);
+    }
+
+    /**
+     * Same as {@link #upsertWithSelections(List, Map, boolean)}, with option rows the caller already loaded.
+     * @param options See {@link #optionsFor}; must cover the answers' questions.
+     */
+    @Transactional
+    public Map<Long, Integer> upsertWithSelections(List<Answer> answers, Map<Long, Question> questions,
+                                                   Map<Long, List<QuestionOption>> options, boolean strict) {
+        Set<Long> closedForms = formLifecycleService.lockForAnswers(questions.values());
+        List<Answer> accepted = new ArrayList<>(answers.size());
+        for (Answer answer : answers) {
+            Question question = questions.get(answer.getQuestion().getId());
+            if (question != null && question.getForm() != null && closedForms.contains(question.getForm().getId())) {
+                if (strict) {
+                    throw new IllegalArgumentException("Error: This form is closed.");
+                }
+                continue;
+            }
+            accepted.add(answer);
+        }
+        if (accepted.size() < answers.size()) {
+            logger.warn("AnswerSelectionService: Left out {} answer(s) to forms closed meanwhile.", answers.size() - accepted.size());
+        }
+        formVersionService.stampVersions(accepted, questions, strict);
+        Map<AnswerKey, Set<Long>> selections = resolve(accepted, questions, options, strict);
+        List<Answer> written = strict ? accepted : accepted.stream().filter(this::inVersion).toList();
+        answerRepository.upsertAll(written);
+        formResultsRollupService.markDirty(written.stream().map(answer -> answer.getQuestion().getId()).toList());
+        return replaceByKey(selections);
+    }
+
+    /**
+     * Runs the checks of a strict {@link #upsertWithSelections} without writing anything.
+     * @param options See {@link #optionsFor}; must cover the answers' questions.
+     * @throws IllegalArgumentException if the answers would be rejected.
+     */
+    public void validate(List<Answer> answers, Map<Long, Question> questions, Map<Long, List<QuestionOption>> options) {
+        formVersionService.stampVersions(answers, questions, true);
+        resolve(answers, questions, options, true);
+    }
+
+    /**
+     * The option rows (including retired ones) that {@link #resolve} matches responses against, in one query.
+     * Load them once when validating or writing several groups of answers to the same questions.
+     */
+    public Map<Long, List<QuestionOption>> optionsFor(Collection<Question> questions) {
+        return questionOptionCatalog.optionsFor(questions);
+    }
+
+    /**
+     * Recomputes the selections of answers saved through JPA (admin create/update), loading their questions in one query.
+     * Also logs the questions for the results rollup; the answers were committed before this runs.
+     * @return Option ID -> change in selection count.
+     */
+    @Transactional
+    public Map<Long, Integer> syncSelections(Collection<Answer> savedAnswers) {
+        Set<Long> questionIds = savedAnswers.stream().map(answer -> answer.getQuestion().getId()).collect(Collectors.toSet());
+        Map<Long, Question> questions = questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        formResultsRollupService.markDirty(questionIds);
+        return replaceById(savedAnswers, resolve(savedAnswers, questions, false));
+    }
+
+    /**
+     * Removes an answer's selections before the answer itself is deleted, so the count changes are published.
+     * (The database would cascade the rows away, but silently.)
+     */
+    @Transactional
+    public Map<Long, Integer> clearSelections(Long answerId) {
+        return replace(Map.of(answerId, Set.of()));
+    }
+
+    /**
+     * Per-option selection counts of a form, from the answer_selections index (live and archived).
+     */
+    @Transactional // Not read-only: optionsFor may create option rows for a question that has none yet
+    public List<QuestionTallyDTO> tallyForm(Long formId) {
+        List<Question> questions = questionRepository.findByFormId(formId);
+        Map<Long, List<QuestionOption>> options = questionOptionCatalog.optionsFor(questions);
+        Map<Long, Long> counts = new HashMap<>();
+        for (OptionTally tally : answerSelectionRepository.countByOptionForForm(formId)) {
+            counts.merge(tally.getOptionId(), tally.getCount(), Long::sum);
+        }
+        for (OptionTally tally : archivedAnswerSelectionRepository.countByOptionForForm(formId)) {
+            counts.merge(tally.getOptionId(), tally.getCount(), Long::sum);
+        }
+        return toTallies(questions, options, counts);
+    }
+
+    /**
+     * Builds the per-question view of option counts. Retired options are listed only while they still have selections.
+     */
+    public static List<QuestionTallyDTO> toTallies(List<Question> questions, Map<Long, List<QuestionOption>> options, Map<Long, Long> counts) {
+        List<QuestionTallyDTO> tallies = new ArrayList<>();
+        for (Question question : questions) {
+            if (!QuestionOptionCatalog.isChoiceType(question.getType())) {
+                continue;
+            }
+            List<OptionTallyDTO> optionTallies = new ArrayList<>();
+            for (QuestionOption option : options.getOrDefault(question.getId(), List.of())) {
+                long count = counts.getOrDefault(option.getId(), 0L);
+                if (!option.isRetired() || count > 0) {
+                    optionTallies.add(new OptionTallyDTO(option.getId(), option.getOptionText(), option.isRetired(), count));
+                }
+            }
+            tallies.add(new QuestionTallyDTO(question.getId(), question.getQuestionText(), question.getType(), optionTallies));
+        }
+        return tallies;
+    }
+
+    /**
+     * Fills in selections for choice answers saved before answer_selections existed. Runs after the option sync.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(20)
+    @Transactional
+    public void backfill() {
+        long afterId = 0;
+        int answered = 0;
+        List<Answer> chunk;
+        do {
+            chunk = answerRepository.findChoiceAnswersWithoutSelections(afterId, PageRequest.of(0, BACKFILL_CHUNK));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Map<Long, Question> questions = new HashMap<>();
+            chunk.forEach(answer -> questions.put(answer.getQuestion().getId(), answer.getQuestion()));
+            replaceById(chunk, resolve(chunk, questions, false));
+            answered += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == BACKFILL_CHUNK);
+        if (answered > 0) {
+            logger.info("AnswerSelectionService: Backfilled selections for {} answer(s).", answered);
+        }
+    }
+
+    private boolean inVersion(Answer answer) {
+        return answer.getFormVersionId() == null
+                || formVersionService.questionAt(answer.getFormVersionId(), answer.getQuestion().getId()).isPresent();
+    }
+
+    private Map<Long, Integer> replaceByKey(Map<AnswerKey, Set<Long>> selections) {
+        if (selections.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> questionIds = new HashSet<>();
+        selections.keySet().forEach(key -> {
+            userIds.add(key.userId());
+            questionIds.add(key.questionId());
+        });
+        Map<Long, Set<Long>> byAnswerId = new HashMap<>();
+        for (Object[] identity : answerRepository.findIdentities(userIds, questionIds)) {
+            Set<Long> selected = selections.get(new AnswerKey((Long) identity[1], (Long) identity[2]));
+            if (selected != null) {
+                byAnswerId.put((Long) identity[0], selected);
+            }
+        }
+        return replace(byAnswerId);
+    }
+
+    private Map<Long, Integer> replaceById(Collection<Answer> answers, Map<AnswerKey, Set<Long>> selections) {
+        Map<Long, Set<Long>> byAnswerId = new HashMap<>();
+        for (Answer answer : answers) {
+            Set<Long> selected = selections.get(new AnswerKey(answer.getUser().getId(), answer.getQuestion().getId()));
+            if (selected != null) {
+                byAnswerId.put(answer.getId(), selected);
+            }
+        }
+        return replace(byAnswerId);
+    }
+
+    // Writes the rows and announces the count changes (live tallies apply them after commit)
+    private Map<Long, Integer> replace(Map<Long, Set<Long>> byAnswerId) {
+        Map<Long, Integer> deltas = answerSelectionRepository.replaceSelections(byAnswerId);
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new SelectionsChangedEvent(deltas));
+        }
+        return deltas;
+    }
+
+    /**
+     * Splits a response into option texts. An option text may itself contain the separator,
+     * so parts are joined back together while they can still form a known option.
+     * @param unmatched Receives the pieces of the response that are not an offered option.
+     */
+    private static Set<Long> match(String response, List<QuestionOption> options, List<String> unmatched) {
+        Set<Long> selected = new LinkedHashSet<>();
+        if (response == null || response.isBlank()) {
+            return selected;
+        }
+        Map<String, Long> idsByText = new HashMap<>();
+        options.forEach(option -> idsByText.put(option.getOptionText(), option.getId()));
+
+        Long whole = idsByText.get(response.trim());
+        if (whole != null) {
+            selected.add(whole);
+            return selected;
+        }
+        StringBuilder current = new StringBuilder();
+        for (String part : response.split(SEPARATOR, -1)) {
+            if (current.length() > 0) {
+                current.append(SEPARATOR);
+            }
+            current.append(part);
+            String text = current.toString().trim();
+            Long optionId = idsByText.get(text);
+            if (optionId != null) {
+                selected.add(optionId);
+                current.setLength(0);
+            } else if (idsByText.keySet().stream().noneMatch(option -> option.startsWith(text + SEPARATOR))) {
+                // No option continues with the next part: this piece is unknown, and the next part starts afresh
+                if (!text.isEmpty()) {
+                    unmatched.add(text);
+                }
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            unmatched.add(current.toString().trim());
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,218 @@
+// src/main/java/com/example/backend/service/AnswerSnapshotReader.java
+package com.example.backend.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads snapshot files written by AnswerSnapshotService in one sequential pass, one block at a time.
+ * Has no Spring or database dependencies, so analysts can run it directly. The application jar is a Spring Boot
+ * fat jar (classes under BOOT-INF/), so a plain -cp cannot see this class; go through the Boot launcher instead:
+ * <pre>java -cp backend.jar -Dloader.main=com.example.backend.service.AnswerSnapshotReader \
+ *     org.springframework.boot.loader.PropertiesLauncher form-1.fsnap &gt; form-1.csv</pre>
+ */
+public final class AnswerSnapshotReader implements Closeable {
+
+    public record SnapshotQuestion(long id, String type, String text) {
+    }
+
+    public record SnapshotOption(long id, int questionIndex, boolean retired, String text) {
+    }
+
+    /**
+     * One block of answers in column form. Selections of row i are
+     * selectionCodes[selectionStart[i] .. selectionStart[i] + selectionCount[i]), codes index into options().
+     */
+    public record Block(int size, long[] answerIds, long[] userIds, int[] questionIndexes,
+                        int[] selectionCounts, int[] selectionStart, int[] selectionCodes, String[] texts) {
+    }
+
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private final long formId;
+    private final long createdAtMillis;
+    private final List<SnapshotQuestion> questions;
+    private final List<SnapshotOption> options;
+    private boolean finished;
+
+    private AnswerSnapshotReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        if (in.readInt() != AnswerSnapshotService.MAGIC) {
+            throw new IOException("Not an answer snapshot file.");
+        }
+        int version = in.readInt();
+        if (version != AnswerSnapshotService.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ".");
+        }
+        this.formId = in.readLong();
+        this.createdAtMillis = in.readLong();
+        int questionCount = in.readInt();
+        List<SnapshotQuestion> questionList = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            questionList.add(new SnapshotQuestion(in.readLong(), readString(in), readString(in)));
+        }
+        int optionCount = in.readInt();
+        List<SnapshotOption> optionList = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            optionList.add(new SnapshotOption(in.readLong(), in.readInt(), in.readBoolean(), readString(in)));
+        }
+        this.questions = List.copyOf(questionList);
+        this.options = List.copyOf(optionList);
+    }
+
+    public static AnswerSnapshotReader open(Path file) throws IOException {
+        return new AnswerSnapshotReader(Files.newInputStream(file));
+    }
+
+    public long formId() {
+        return formId;
+    }
+
+    public long createdAtMillis() {
+        return createdAtMillis;
+    }
+
+    public List<SnapshotQuestion> questions() {
+        return questions;
+    }
+
+    public List<SnapshotOption> options() {
+        return options;
+    }
+
+    /**
+     * @return The next block, or null after the last one.
+     */
+    public Block nextBlock() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int size = in.readInt();
+        if (size == 0) {
+            finished = true;
+            return null;
+        }
+        byte[] raw = new byte[in.readInt()];
+        byte[] compressed = new byte[in.readInt()];
+        in.readFully(compressed);
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt snapshot block.", e);
+        }
+
+        DataInputStream columns = new DataInputStream(new ByteArrayInputStream(raw));
+        long[] answerIds = new long[size];
+        long[] userIds = new long[size];
+        int[] questionIndexes = new int[size];
+        int[] selectionCounts = new int[size];
+        int[] selectionStart = new int[size];
+        for (int i = 0; i < size; i++) {
+            answerIds[i] = columns.readLong();
+        }
+        for (int i = 0; i < size; i++) {
+            userIds[i] = columns.readLong();
+        }
+        for (int i = 0; i < size; i++) {
+            questionIndexes[i] = columns.readInt();
+        }
+        int totalSelections = 0;
+        for (int i = 0; i < size; i++) {
+            selectionCounts[i] = columns.readInt();
+            selectionStart[i] = totalSelections;
+            totalSelections += selectionCounts[i];
+        }
+        int[] selectionCodes = new int[totalSelections];
+        for (int i = 0; i < totalSelections; i++) {
+            selectionCodes[i] = columns.readInt();
+        }
+        int[] textLengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            textLengths[i] = columns.readInt();
+        }
+        String[] texts = new String[size];
+        for (int i = 0; i < size; i++) {
+            if (textLengths[i] >= 0) {
+                byte[] bytes = new byte[textLengths[i]];
+                columns.readFully(bytes);
+                texts[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return new Block(size, answerIds, userIds, questionIndexes, selectionCounts, selectionStart, selectionCodes, texts);
+    }
+
+    /**
+     * The display response of a row: its option texts joined like the frontend does, or the stored text.
+     */
+    public String response(Block block, int row) {
+        if (block.texts()[row] != null || block.selectionCounts()[row] == 0) {
+            return block.texts()[row];
+        }
+        StringBuilder response = new StringBuilder();
+        int start = block.selectionStart()[row];
+        for (int i = 0; i < block.selectionCounts()[row]; i++) {
+            if (i > 0) {
+                response.append(", ");
+            }
+            response.append(options.get(block.selectionCodes()[start + i]).text());
+        }
+        return response.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prints a snapshot as CSV (answer_id, user_id, question_id, response), one line per answer.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: AnswerSnapshotReader <snapshot file>");
+            System.exit(2);
+        }
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        try (AnswerSnapshotReader reader = open(Path.of(args[0]))) {
+            out.print("answer_id,user_id,question_id,response\r\n");
+            Block block;
+            while ((block = reader.nextBlock()) != null) {
+                for (int row = 0; row < block.size(); row++) {
+                    String response = reader.response(block, row);
+                    out.print(block.answerIds()[row] + "," + block.userIds()[row] + ","
+                            + reader.questions().get(block.questionIndexes()[row]).id() + ","
+                            + (response == null ? "" : "\"" + response.replace("\"", "\"\"") + "\"") + "\r\n");
+                }
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,321 @@
+// src/main/java/com/example/backend/service/AnswerSnapshotService.java
+package com.example.backend.service;
+
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.repository.QuestionOptionRepository;
+import com.example.backend.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a form's answers, questions and options to a compact columnar snapshot file for offline analytics.
+ * Layout (all integers big-endian, see AnswerSnapshotReader):
+ * <pre>
+ * header:    magic "FSN1", version, formId, createdAtMillis
+ * questions: count, then id (long), type, text per question
+ * options:   count, then id (long), question index (int), retired, text per option; the position is the option's code
+ * blocks:    until a block with rowCount 0, each [rowCount][rawLength][deflatedLength][deflated columns]
+ *            columns: answerId long[], userId long[], questionIndex int[],
+ *                     selectionCount int[], selectionCodes int[], textLength int[] (-1 = none), text bytes (UTF-8)
+ * </pre>
+ * Choice answers are stored as option codes (the dictionary); the response text is only kept when it could not
+ * be matched to options. Reading the file back is a single sequential pass, without touching the database.
+ */
+@Service
+public class AnswerSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerSnapshotService.class);
+
+    static final int MAGIC = 0x46534E31; // "FSN1"
+    static final int VERSION = 1;
+    static final int BLOCK_ROWS = 16_384;
+
+    // One row per answer and selected option (or one row with a NULL option), grouped by answer, from both tiers
+    private static final String SNAPSHOT_SQL =
+            "SELECT t.id, t.user_id, t.question_id, t.response, t.option_id FROM (" +
+            "SELECT a.id, a.user_id, a.question_id, a.response, s.option_id FROM answers a " +
+            "JOIN question q ON q.id = a.question_id LEFT JOIN answer_selections s ON s.answer_id = a.id WHERE q.form_id = ? " +
+            "UNION ALL " +
+            "SELECT r.id, r.user_id, r.question_id, r.response, s.option_id FROM answers_archive r " +
+            "JOIN question q ON q.id = r.question_id LEFT JOIN answer_selections_archive s ON s.answer_id = r.id WHERE q.form_id = ?" +
+            ") t ORDER BY t.id, t.option_id";
+
+    public record SnapshotInfo(Long formId, long rowCount, long sizeBytes, long createdAtMillis) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionRepository questionOptionRepository;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${backend.app.snapshots.dir:./data/snapshots}")
+    private String snapshotDir;
+
+    public AnswerSnapshotService(JdbcTemplate jdbcTemplate, QuestionRepository questionRepository,
+                                 QuestionOptionRepository questionOptionRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.questionRepository = questionRepository;
+        this.questionOptionRepository = questionOptionRepository;
+    }
+
+    /**
+     * The snapshot file of a form, if one has been written.
+     */
+    public Optional<Path> snapshotFile(Long formId) {
+        Path file = fileFor(formId);
+        return Files.exists(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Writes (or replaces) the snapshot of a form. The file is written next to the target and moved into place,
+     * so readers never see a partial snapshot; if writing fails, the temporary file is deleted.
+     * @throws IllegalStateException if a snapshot of the same form is already being written.
+     */
+    @Transactional(readOnly = true)
+    public SnapshotInfo writeSnapshot(Long formId) throws IOException {
+        if (!running.add(formId)) {
+            throw new IllegalStateException("A snapshot of form " + formId + " is already being written.");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            Path target = fileFor(formId);
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+            long rowCount;
+            try {
+                try (OutputStream file = Files.newOutputStream(tmp);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+                    rowCount = write(formId, started, out);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                // A failed write (query error, full disk) must not leave a partial file behind
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                throw e;
+            }
+
+            SnapshotInfo info = new SnapshotInfo(formId, rowCount, Files.size(target), started);
+            logger.info("AnswerSnapshotService: Wrote snapshot of form {} ({} answers, {} bytes) in {} ms.",
+                    formId, rowCount, info.sizeBytes(), System.currentTimeMillis() - started);
+            return info;
+        } finally {
+            running.remove(formId);
+        }
+    }
+
+    private long write(Long formId, long createdAtMillis, DataOutputStream out) throws IOException {
+        List<Question> questions = questionRepository.findByFormId(formId).stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+        Map<Long, Integer> questionIndexes = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            questionIndexes.put(questions.get(i).getId(), i);
+        }
+        List<QuestionOption> options = questions.isEmpty() ? List.of()
+                : questionOptionRepository.findByQuestion_IdInOrderByPositionAsc(questionIndexes.keySet());
+        Map<Long, Integer> optionCodes = new HashMap<>();
+        for (int i = 0; i < options.size(); i++) {
+            optionCodes.put(options.get(i).getId(), i);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(formId);
+        out.writeLong(createdAtMillis);
+        out.writeInt(questions.size());
+        for (Question question : questions) {
+            out.writeLong(question.getId());
+            writeString(out, question.getType());
+            writeString(out, question.getQuestionText());
+        }
+        out.writeInt(options.size());
+        for (QuestionOption option : options) {
+            out.writeLong(option.getId());
+            out.writeInt(questionIndexes.get(option.getQuestion().getId()));
+            out.writeBoolean(option.isRetired());
+            writeString(out, option.getOptionText());
+        }
+
+        BlockWriter blocks = new BlockWriter(out);
+        // Stream the rows (Connector/J streams only with fetch size Integer.MIN_VALUE) so memory is bounded by one block
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SNAPSHOT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, formId);
+            statement.setLong(2, formId);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                blocks.accept(rs, questionIndexes, optionCodes);
+            } catch (IOException e) {
+                throw new SQLException("Could not write snapshot block.", e);
+            }
+        });
+        blocks.finish();
+        return blocks.rowsWritten;
+    }
+
+    private Path fileFor(Long formId) {
+        return Path.of(snapshotDir, "form-" + formId + ".fsnap");
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Buffers up to BLOCK_ROWS answers in primitive column arrays and writes them as one deflated block.
+     */
+    private static final class BlockWriter {
+        private final DataOutputStream out;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final long[] answerIds = new long[BLOCK_ROWS];
+        private final long[] userIds = new long[BLOCK_ROWS];
+        private final int[] questionIndexes = new int[BLOCK_ROWS];
+        private final int[] selectionCounts = new int[BLOCK_ROWS];
+        private final String[] texts = new String[BLOCK_ROWS];
+        private int[] selectionCodes = new int[BLOCK_ROWS];
+        private int selectionSize;
+        private int size;
+        private long rowsWritten;
+        private long lastAnswerId = -1;
+        private boolean skipping;
+
+        BlockWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void accept(ResultSet rs, Map<Long, Integer> questionIndexMap, Map<Long, Integer> optionCodes) throws SQLException, IOException {
+            long answerId = rs.getLong(1);
+            long optionId = rs.getLong(5);
+            boolean hasOption = !rs.wasNull();
+            if (answerId != lastAnswerId) {
+                lastAnswerId = answerId;
+                Integer questionIndex = questionIndexMap.get(rs.getLong(3));
+                skipping = questionIndex == null; // Question added after the header was written
+                if (skipping) {
+                    return;
+                }
+                if (size == BLOCK_ROWS) {
+                    flush(); // Only between answers, so an answer's selections stay in its block
+                }
+                answerIds[size] = answerId;
+                userIds[size] = rs.getLong(2);
+                questionIndexes[size] = questionIndex;
+                selectionCounts[size] = 0;
+                texts[size] = rs.getString(4);
+                size++;
+            } else if (skipping) {
+                return;
+            }
+            Integer code = hasOption ? optionCodes.get(optionId) : null;
+            if (code != null) {
+                if (selectionSize == selectionCodes.length) {
+                    selectionCodes = Arrays.copyOf(selectionCodes, selectionSize * 2);
+                }
+                selectionCodes[selectionSize++] = code;
+                selectionCounts[size - 1]++;
+                texts[size - 1] = null; // Fully described by its option codes
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+            out.writeInt(0); // End marker
+            deflater.end();
+        }
+
+        private void flush() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(size * 40);
+            DataOutputStream columns = new DataOutputStream(raw);
+            for (int i = 0; i < size; i++) {
+                columns.writeLong(answerIds[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                columns.writeLong(userIds[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                columns.writeInt(questionIndexes[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                columns.writeInt(selectionCounts[i]);
+            }
+            for (int i = 0; i < selectionSize; i++) {
+                columns.writeInt(selectionCodes[i]);
+            }
+            byte[][] textBytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                textBytes[i] = texts[i] == null ? null : texts[i].getBytes(StandardCharsets.UTF_8);
+                columns.writeInt(textBytes[i] == null ? -1 : textBytes[i].length);
+            }
+            for (byte[] bytes : textBytes) {
+                if (bytes != null) {
+                    columns.write(bytes);
+                }
+            }
+            columns.flush();
+
+            byte[] input = raw.toByteArray();
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            out.writeInt(size);
+            out.writeInt(input.length);
+            out.writeInt(compressed.size());
+            compressed.writeTo(out);
+
+            rowsWritten += size;
+            Arrays.fill(texts, 0, size, null);
+            size = 0;
+            selectionSize = 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// src/main/java/com/example/backend/service/AnswerSubmissionService.java
+package com.example.backend.service;
+
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.User;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Saves a form submission with a fixed number of queries regardless of form size:
+ * one IN query for the users, one for the questions, one batched native upsert (plus the selection rows
+ * of radio/checkbox answers), and one query to read back the saved answers.
+ */
+@Service
+public class AnswerSubmissionService {
+
+    private final AnswerRepository answerRepository;
+    private final UserRepository userRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerSelectionService answerSelectionService;
+
+    public AnswerSubmissionService(AnswerRepository answerRepository, UserRepository userRepository,
+                                   QuestionRepository questionRepository, AnswerSelectionService answerSelectionService) {
+        this.answerRepository = answerRepository;
+        this.userRepository = userRepository;
+        this.questionRepository = questionRepository;
+        this.answerSelectionService = answerSelectionService;
+    }
+
+    /**
+     * Upserts a list of answers: an existing answer for the same user and question is updated, otherwise a new one is created.
+     * Concurrent submissions for the same question cannot create duplicates; the last write wins.
+     * Nothing is written unless every referenced user and question exists.
+     * @param answers The submitted answers (only user.id, question.id, response and formVersionId are read).
+     * @return The saved answers, in submission order.
+     * @throws IllegalArgumentException if an answer is missing its user or question, references one that does not exist,
+     *                                  belongs to a closed form, names a version of another form,
+     *                                  selects more options than its question allows, or has a response too long to store.
+     */
+    @Transactional
+    public List<Answer> saveOrUpdate(List<Answer> answers) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> questionIds = new LinkedHashSet<>();
+        for (Answer answer : answers) {
+            if (answer.getUser() == null || answer.getUser().getId() == null
+                    || answer.getQuestion() == null || answer.getQuestion().getId() == null) {
+                throw new IllegalArgumentException("Error: Each answer needs a user and a question.");
+            }
+            if (answer.getResponse() != null
+                    && answer.getResponse().getBytes(StandardCharsets.UTF_8).length > Answer.MAX_RESPONSE_BYTES) {
+                throw new IllegalArgumentException("Error: Response to question " + answer.getQuestion().getId() + " is too long.");
+            }
+            userIds.add(answer.getUser().getId());
+            questionIds.add(answer.getQuestion().getId());
+        }
+        if (answers.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Question> questions = questionRepository.findAllWithFormByIdIn(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        if (users.size() != userIds.size() || questions.size() != questionIds.size()) {
+            throw new IllegalArgumentException("Error: Unknown user or question in submission.");
+        }
+        if (!questions.values().stream().allMatch(FormLifecycleService::acceptsAnswers)) {
+            throw new IllegalArgumentException("Error: This form is closed.");
+        }
+
+        // One INSERT ... ON DUPLICATE KEY UPDATE batch, no read-before-write; the unique index resolves races.
+        // Choice answers also get their answer_selections rows; maxSelections is checked before anything is written.
+        answerSelectionService.upsertWithSelections(answers, questions, true);
+
+        Map<String, Answer> saved = new HashMap<>();
+        for (Answer answer : answerRepository.findByUser_IdInAndQuestion_IdIn(userIds, questionIds)) {
+            saved.put(key(answer.getUser().getId(), answer.getQuestion().getId()), answer);
+        }
+        List<Answer> result = new ArrayList<>(answers.size());
+        for (Answer incoming : answers) {
+            result.add(saved.get(key(incoming.getUser().getId(), incoming.getQuestion().getId())));
+        }
+        return result;
+    }
+
+    private static String key(Long userId, Long questionId) {
+        return userId + ":" + questionId;
+    }
+}
@@ -1,21 +1,36 @@
 // src/main/java/com/example/backend/service/FilterService.java
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorResponse;
 import com.example.backend.dto.FilterCriteria;
+import com.example.backend.dto.PagedResponse;
+import com.example.backend.model.Role;
 import com.example.backend.specification.GenericSpecification;
+import com.example.backend.specification.KeysetSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,8 +38,20 @@ public class FilterService {
 
     // Reserved parameter names that should not be treated as filters
     private static final List<String> RESERVED_PARAMS = Arrays.asList(
-            "page", "size", "sortBy", "sortDirection"
+            "page", "size", "sortBy", "sortDirection", "cursor", "count", "archived"
     );
+
+    private final RoleRegistry roleRegistry;
+    private final TotalCountService totalCountService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FilterService(RoleRegistry roleRegistry, TotalCountService totalCountService) {
+        this.roleRegistry = roleRegistry;
+        this.totalCountService = totalCountService;
+    }
+
     // Java
     public List<FilterCriteria> parseFilters(Map<String, String> params) {
         List<FilterCriteria> filters = new ArrayList<>();
@@ -105,18 +132,99 @@ public class FilterService {
             return new FilterCriteria(field, operation, values);
         }
 
+        // Resolve role names against the preloaded registry so the roles filter is a plain membership test on role IDs
+        if ("roles".equals(field)) {
+            Role role = roleRegistry.find(value);
+            if (role != null) {
+                return new FilterCriteria(field, operation, role);
+            }
+        }
+
         return new FilterCriteria(field, operation, value);
     }
 
     public Pageable createPageable(Integer page, Integer size, String sortBy, String sortDirection) {
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection)
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
-
-        Sort sort = Sort.by(direction, sortBy);
+        Sort sort = Sort.by(parseDirection(sortDirection), sortBy);
         return PageRequest.of(page, size, sort);
     }
 
+    /**
+     * Keyset (cursor) variant of getFilteredResults: the page starts after the row the cursor points at,
+     * with a WHERE (sort, id) > (value, id) predicate instead of an OFFSET, and no count query is run.
+     * Deep pages therefore cost the same as the first one.
+     * @param type The entity class.
+     * @param cursor The token from the previous page's nextCursor, or empty/blank for the first page.
+     * @return The page, with the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor is malformed, was issued for another sort, or sortBy cannot be paged by.
+     */
+    public <T> CursorResponse<T> getFilteredResultsAfter(
+            Class<T> type,
+            List<FilterCriteria> filters,
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDirection) {
+
+        Sort.Direction direction = parseDirection(sortDirection);
+        Specification<T> spec = toSpecification(filters);
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetSpecification.Cursor position = KeysetSpecification.Cursor.decode(cursor);
+            if (!position.sortBy().equals(sortBy) || position.direction() != direction) {
+                throw new IllegalArgumentException("Error: The cursor was issued for a different sort order.");
+            }
+            Specification<T> after = KeysetSpecification.after(position);
+            spec = (spec == null) ? after : spec.and(after);
+        }
+
+        KeysetSpecification.sortPath(entityManager.getCriteriaBuilder().createQuery(type).from(type), sortBy); // Rejects associations
+        // One extra row tells whether there is a next page
+        List<T> rows = fetch(type, spec, KeysetSpecification.sort(sortBy, direction), 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext
+                ? KeysetSpecification.Cursor.after(content.get(content.size() - 1), sortBy, direction).encode()
+                : null;
+        return new CursorResponse<>(content, size, nextCursor);
+    }
+
+    /**
+     * Count-free variant of getFilteredResults: reads one row more than the page instead of running COUNT(*).
+     */
+    public <T> Slice<T> getFilteredSlice(Class<T> type, List<FilterCriteria> filters, Pageable pageable) {
+        List<T> rows = fetch(type, toSpecification(filters), pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * A page whose total comes from TotalCountService instead of a COUNT(*) per request.
+     * ESTIMATED applies to unfiltered listings only; with filters it falls back to CACHED.
+     * @param mode CACHED or ESTIMATED (EXACT and NONE go through getFilteredResults and getFilteredSlice).
+     */
+    public <T> PagedResponse<T> getFilteredPage(Class<T> type, List<FilterCriteria> filters, Pageable pageable,
+                                                TotalCountService.Mode mode) {
+        Slice<T> slice = getFilteredSlice(type, filters, pageable);
+        TotalCountService.Mode used = mode;
+        long total;
+        OptionalLong estimate = (mode == TotalCountService.Mode.ESTIMATED && (filters == null || filters.isEmpty()))
+                ? totalCountService.estimate(type)
+                : OptionalLong.empty();
+        if (estimate.isPresent()) {
+            total = estimate.getAsLong();
+        } else {
+            used = TotalCountService.Mode.CACHED;
+            total = totalCountService.cached(type, filters, () -> count(type, toSpecification(filters)));
+        }
+        // An estimate (or a slightly stale count) must not claim fewer rows than the page already shows
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        total = slice.hasNext() ? Math.max(total, seen + 1) : seen;
+
+        PagedResponse<T> response = new PagedResponse<>(new PageImpl<>(slice.getContent(), pageable, total));
+        response.setCountMode(used.name().toLowerCase());
+        return response;
+    }
+
     public <T> Page<T> getFilteredResults(
             JpaSpecificationExecutor<T> repository,
             List<FilterCriteria> filters,
@@ -128,11 +236,7 @@ public class FilterService {
                 return ((JpaRepository<T, ?>) repository).findAll(pageable);
             }
 
-            Specification<T> spec = null;
-            for (FilterCriteria filter : filters) {
-                Specification<T> newSpec = GenericSpecification.of(filter);
-                spec = (spec == null) ? newSpec : spec.and(newSpec);
-            }
+            Specification<T> spec = toSpecification(filters);
 
             System.out.println("Executing query with " + filters.size() + " filters"); // Debug line
             return repository.findAll(spec, pageable);
@@ -143,4 +247,52 @@ public class FilterService {
             return ((JpaRepository<T, ?>) repository).findAll(PageRequest.of(0, 10));
         }
     }
-}
\ No newline at end of file
+
+    private <T> Specification<T> toSpecification(List<FilterCriteria> filters) {
+        Specification<T> spec = null;
+        if (filters != null) {
+            for (FilterCriteria filter : filters) {
+                Specification<T> newSpec = GenericSpecification.of(filter);
+                spec = (spec == null) ? newSpec : spec.and(newSpec);
+            }
+        }
+        return spec;
+    }
+
+    private static Sort.Direction parseDirection(String sortDirection) {
+        return "desc".equalsIgnoreCase(sortDirection)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+    }
+
+    private <T> List<T> fetch(Class<T> type, Specification<T> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/com/example/backend/service/FormCatalogVersion.java
+package com.example.backend.service;
+
+import com.example.backend.repository.CatalogVersionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Version counter of the form catalog (forms and their questions), stored in the database and bumped on every
+ * FormChangedEvent. ETags derived from it let clients revalidate the form list with a primary-key lookup instead
+ * of the list query, and every instance derives the same ETag.
+ * The counter is incremented before the changing transaction commits, so the new version becomes visible
+ * together with the change it describes.
+ */
+@Component
+public class FormCatalogVersion {
+
+    static final String COUNTER_NAME = "forms";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    public FormCatalogVersion(CatalogVersionRepository catalogVersionRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onFormChanged(FormChangedEvent event) {
+        catalogVersionRepository.increment(COUNTER_NAME);
+    }
+
+    public long current() {
+        return catalogVersionRepository.findVersion(COUNTER_NAME).orElse(0L);
+    }
+
+    /**
+     * A weak ETag for a response derived from the catalog.
+     * @param variant Distinguishes responses of the same catalog version, e.g. different pages.
+     */
+    public String etag(String variant) {
+        return "W/\"forms-" + current() + "-" + variant + "\"";
+    }
+}
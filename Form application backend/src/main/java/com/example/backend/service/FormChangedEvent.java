@@ -0,0 +1,9 @@
+package com.example.backend.service;
+
+/**
+ * Published when a form or one of its questions is created, updated or deleted; consumers see it after the
+ * transaction commits.
+ * @param formId The form that changed (null if unknown, which consumers treat as "any form").
+ */
+public record FormChangedEvent(Long formId) {
+}
@@ -0,0 +1,146 @@
+// src/main/java/com/example/backend/service/FormDefinitionCache.java
+package com.example.backend.service;
+
+import com.example.backend.dto.FormDTO;
+import com.example.backend.model.Form;
+import com.example.backend.model.Question;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully assembled draft form definitions (form, questions and options as FormDTO), serialized once to UTF-8 JSON
+ * and gzip and served as raw bytes, so previewing a form costs a map lookup instead of several queries and
+ * a Jackson pass. Entries are evicted on FormChangedEvent, which every form and question mutation publishes
+ * after commit. Respondents read published versions instead (see FormVersionService).
+ */
+@Service
+public class FormDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormDefinitionCache.class);
+
+    private final FormRepository formRepository;
+    private final QuestionRepository questionRepository;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Long, Definition> definitions = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a definition loaded while its form changed is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${backend.app.formCache.maxEntries:1000}")
+    private int maxEntries;
+
+    public FormDefinitionCache(FormRepository formRepository, QuestionRepository questionRepository, ObjectMapper objectMapper) {
+        this.formRepository = formRepository;
+        this.questionRepository = questionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A serialized form definition.
+     * @param json The FormDTO as UTF-8 JSON.
+     * @param gzip The same bytes, gzip-compressed.
+     * @param etag A strong ETag derived from the SHA-256 of the JSON.
+     */
+    public record Definition(byte[] json, byte[] gzip, String etag) {
+
+        public static Definition of(byte[] json) {
+            try {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+                    gzipStream.write(json);
+                }
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+                return new Definition(json, compressed.toByteArray(), etag);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available.", e);
+            }
+        }
+    }
+
+    /**
+     * @param formId The ID of the form.
+     * @return The serialized definition, or empty if the form does not exist.
+     */
+    public Optional<Definition> get(Long formId) {
+        Definition cached = definitions.get(formId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long loadedAtGeneration = generation.get();
+        Optional<Form> form = formRepository.findById(formId);
+        if (form.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Question> questions = questionRepository.findByFormIdWithOptions(formId);
+        Definition definition = serialize(new FormDTO(form.get(), questions));
+        if (generation.get() == loadedAtGeneration) {
+            if (definitions.size() >= maxEntries) {
+                evictSome(maxEntries / 10 + 1);
+            }
+            definitions.put(formId, definition);
+        }
+        return Optional.of(definition);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormChanged(FormChangedEvent event) {
+        generation.incrementAndGet();
+        if (definitions.remove(event.formId()) != null) {
+            logger.debug("FormDefinitionCache: Evicted form {}", event.formId());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", definitions.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+
+    private Definition serialize(FormDTO formDTO) {
+        try {
+            return Definition.of(objectMapper.writeValueAsBytes(formDTO));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize form " + formDTO.getId(), e);
+        }
+    }
+
+    // Definitions are cheap to rebuild, so any entries will do
+    private void evictSome(int count) {
+        Iterator<Long> iterator = definitions.keySet().iterator();
+        for (int i = 0; i < count && iterator.hasNext(); i++) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+// src/main/java/com/example/backend/service/FormImportService.java
+package com.example.backend.service;
+
+import com.example.backend.config.StatementCountingInspector;
+import com.example.backend.dto.FormDTO;
+import com.example.backend.dto.QuestionDTO;
+import com.example.backend.model.Form;
+import com.example.backend.model.Question;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Creates a whole form in one transaction: from a definition (FormDTO JSON, the same shape
+ * GET /api/forms/{id}/definition returns, or CSV) or as a copy of an existing form.
+ * Questions and their option rows use pooled sequences, so Hibernate sends them as JDBC batches
+ * (hibernate.jdbc.batch_size) instead of one INSERT per row. The new form is a draft until published.
+ */
+@Service
+public class FormImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormImportService.class);
+
+    public static final int MAX_QUESTIONS = 1000;
+    private static final String CSV_OPTION_SEPARATOR = "\\|";
+
+    private final FormRepository formRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionCatalog questionOptionCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FormImportService(FormRepository formRepository, QuestionRepository questionRepository,
+                             QuestionOptionCatalog questionOptionCatalog, ApplicationEventPublisher eventPublisher) {
+        this.formRepository = formRepository;
+        this.questionRepository = questionRepository;
+        this.questionOptionCatalog = questionOptionCatalog;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * The outcome of an import or clone.
+     * @param statements SQL statements the transaction prepared; a JDBC batch counts once.
+     */
+    public record ImportResult(Form form, int questions, int options, long statements) {
+    }
+
+    /**
+     * Creates a form with all its questions. Question IDs in the definition are ignored.
+     * @throws IllegalArgumentException if the definition is invalid.
+     * @throws IllegalStateException if a form with the same title exists.
+     */
+    @Transactional
+    public ImportResult importForm(FormDTO definition) {
+        StatementCountingInspector.reset();
+        String title = definition.getTitle() == null ? "" : definition.getTitle().trim();
+        if (title.isEmpty()) {
+            throw new IllegalArgumentException("Error: Title is required.");
+        }
+        if (formRepository.findByTitle(title).isPresent()) {
+            throw new IllegalStateException("Error: A form with this title already exists.");
+        }
+        List<QuestionDTO> questions = definition.getQuestions() == null ? List.of() : definition.getQuestions();
+        if (questions.size() > MAX_QUESTIONS) {
+            throw new IllegalArgumentException("Error: A form can have at most " + MAX_QUESTIONS + " questions.");
+        }
+        for (int i = 0; i < questions.size(); i++) {
+            QuestionDTO question = questions.get(i);
+            if (question == null || question.getQuestionText() == null || question.getQuestionText().trim().isEmpty()) {
+                throw new IllegalArgumentException("Error: Question " + (i + 1) + " has no text.");
+            }
+        }
+        return persist(title, definition.getDescription(), questions);
+    }
+
+    /**
+     * Copies a form and its current (draft) questions into a new draft form.
+     * @param formId The form to copy.
+     * @param title The title of the copy, or null for "&lt;title&gt; (copy)".
+     * @return The copy, or empty if the form does not exist.
+     * @throws IllegalStateException if a form with the requested title exists.
+     */
+    @Transactional
+    public Optional<ImportResult> cloneForm(Long formId, String title) {
+        StatementCountingInspector.reset();
+        Optional<Form> source = formRepository.findById(formId);
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+        String cloneTitle = (title == null || title.trim().isEmpty()) ? copyTitle(source.get().getTitle()) : title.trim();
+        if (formRepository.findByTitle(cloneTitle).isPresent()) {
+            throw new IllegalStateException("Error: A form with this title already exists.");
+        }
+        List<QuestionDTO> questions = new FormDTO(source.get(), questionRepository.findByFormIdWithOptions(formId)).getQuestions();
+        return Optional.of(persist(cloneTitle, source.get().getDescription(), questions));
+    }
+
+    /**
+     * Reads a form definition from CSV. The header row names the columns: questionText (required), type
+     * (default "text"), options (separated by "|") and maxSelections, in any order. Fields may be quoted.
+     * @throws IllegalArgumentException if the CSV is malformed.
+     */
+    public FormDTO parseCsv(String title, String description, String csv) {
+        List<List<String>> rows = readCsv(csv == null ? "" : csv);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Error: The CSV has no header row.");
+        }
+        List<String> header = rows.get(0).stream().map(name -> name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT)).toList();
+        int textColumn = header.indexOf("questiontext");
+        if (textColumn < 0) {
+            throw new IllegalArgumentException("Error: The CSV header needs a questionText column.");
+        }
+        int typeColumn = header.indexOf("type");
+        int optionsColumn = header.indexOf("options");
+        int maxSelectionsColumn = header.indexOf("maxselections");
+
+        List<QuestionDTO> questions = new ArrayList<>();
+        for (int i = 1; i < rows.size(); i++) {
+            List<String> row = rows.get(i);
+            if (row.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            String type = field(row, typeColumn);
+            String options = field(row, optionsColumn);
+            String maxSelections = field(row, maxSelectionsColumn);
+            List<String> optionList = options.isBlank() ? List.of()
+                    : Arrays.stream(options.split(CSV_OPTION_SEPARATOR)).map(String::trim).filter(option -> !option.isEmpty()).toList();
+            try {
+                questions.add(new QuestionDTO(null, field(row, textColumn).trim(), type.isBlank() ? "text" : type.trim(),
+                        optionList, maxSelections.isBlank() ? null : Integer.valueOf(maxSelections.trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Error: Invalid maxSelections in CSV row " + (i + 1) + ".");
+            }
+        }
+
+        FormDTO definition = new FormDTO();
+        definition.setTitle(title);
+        definition.setDescription(description);
+        definition.setQuestions(questions);
+        return definition;
+    }
+
+    private ImportResult persist(String title, String description, List<QuestionDTO> questionDTOs) {
+        Form form = formRepository.save(new Form(null, title, description, new ArrayList<>()));
+        List<Question> questions = new ArrayList<>(questionDTOs.size());
+        for (QuestionDTO dto : questionDTOs) {
+            questions.add(new Question(null, dto.getQuestionText().trim(), dto.getType() == null ? "text" : dto.getType(),
+                    dto.getOptions() == null ? new ArrayList<>() : new ArrayList<>(dto.getOptions()),
+                    dto.getMaxSelections(), form));
+        }
+        // IDs come from the pooled sequence, so the INSERTs wait for the flush and go out batched
+        questionRepository.saveAll(questions);
+        int options = questionOptionCatalog.createOptions(questions);
+        entityManager.flush();
+        long statements = StatementCountingInspector.count();
+
+        eventPublisher.publishEvent(new FormChangedEvent(form.getId()));
+        logger.info("FormImportService: Created form {} with {} question(s) and {} option row(s) in {} statement(s).",
+                form.getId(), questions.size(), options, statements);
+        return new ImportResult(form, questions.size(), options, statements);
+    }
+
+    private String copyTitle(String title) {
+        String candidate = title + " (copy)";
+        for (int n = 2; formRepository.findByTitle(candidate).isPresent(); n++) {
+            candidate = title + " (copy " + n + ")";
+        }
+        return candidate;
+    }
+
+    private static String field(List<String> row, int column) {
+        return column >= 0 && column < row.size() ? row.get(column) : "";
+    }
+
+    // RFC 4180: comma-separated, double quotes around fields with commas, quotes or line breaks, "" for a quote
+    private static List<List<String>> readCsv(String csv) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Error: Unterminated quoted field in CSV.");
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,106 @@
+// src/main/java/com/example/backend/service/FormLifecycleService.java
+package com.example.backend.service;
+
+import com.example.backend.model.Form;
+import com.example.backend.model.FormStatus;
+import com.example.backend.model.Question;
+import com.example.backend.repository.ArchivedAnswerRepository;
+import com.example.backend.repository.FormRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Opens and closes forms. A closed form accepts no answers and AnswerArchiver moves its answers to the archive tier;
+ * reopening moves them back, and the form accepts answers again once that is done.
+ */
+@Service
+public class FormLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormLifecycleService.class);
+
+    private final FormRepository formRepository;
+    private final ArchivedAnswerRepository archivedAnswerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FormLifecycleService(FormRepository formRepository, ArchivedAnswerRepository archivedAnswerRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.formRepository = formRepository;
+        this.archivedAnswerRepository = archivedAnswerRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Whether answers to a question may be written. The question's form must be loaded (see QuestionRepository.findAllWithFormByIdIn).
+     * Questions without a form are not subject to the lifecycle.
+     */
+    public static boolean acceptsAnswers(Question question) {
+        Form form = question.getForm();
+        return form == null || (form.getStatus() != FormStatus.CLOSED && form.getArchivedAt() == null);
+    }
+
+    @Transactional
+    public Optional<Form> close(Long formId) {
+        return formRepository.findById(formId).map(form -> {
+            if (!form.isClosed()) {
+                form.setStatus(FormStatus.CLOSED);
+                form.setClosedAt(Instant.now());
+                logger.info("FormLifecycleService: Closed form {}.", formId);
+                eventPublisher.publishEvent(new FormChangedEvent(formId));
+            }
+            return formRepository.save(form);
+        });
+    }
+
+    /**
+     * Re-checks the forms of the given questions under a shared lock on their rows, held until the caller's
+     * transaction ends. Closing a form updates the row, so it waits for every transaction that passed this check;
+     * answers written after it therefore commit before the close, and AnswerArchiver (which only starts on closed
+     * forms) moves them too. The lock-free {@link #acceptsAnswers} check stays as the early rejection.
+     * @return The IDs of the forms that no longer accept answers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> lockForAnswers(Collection<Question> questions) {
+        Set<Long> formIds = new HashSet<>();
+        for (Question question : questions) {
+            if (question.getForm() != null) {
+                formIds.add(question.getForm().getId());
+            }
+        }
+        Set<Long> rejected = new HashSet<>();
+        if (formIds.isEmpty()) {
+            return rejected;
+        }
+        for (Object[] row : formRepository.lockForAnswers(formIds)) {
+            if (FormStatus.CLOSED.name().equals(row[1]) || row[2] != null) {
+                rejected.add(((Number) row[0]).longValue());
+            }
+        }
+        return rejected;
+    }
+
+    @Transactional
+    public Optional<Form> reopen(Long formId) {
+        return formRepository.findById(formId).map(form -> {
+            if (form.isClosed()) {
+                form.setStatus(FormStatus.OPEN);
+                form.setClosedAt(null);
+                // Also covers a form reopened halfway through archiving; archivedAt is cleared once restored
+                form.setArchivedAt(archivedAnswerRepository.existsByQuestion_Form_Id(formId) ? Instant.now() : null);
+                logger.info("FormLifecycleService: Reopened form {}{}.", formId,
+                        form.getArchivedAt() != null ? ", answers will be restored from the archive" : "");
+                eventPublisher.publishEvent(new FormChangedEvent(formId));
+            }
+            return formRepository.save(form);
+        });
+    }
+}
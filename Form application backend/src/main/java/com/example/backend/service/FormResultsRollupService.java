@@ -0,0 +1,248 @@
+// src/main/java/com/example/backend/service/FormResultsRollupService.java
+package com.example.backend.service;
+
+import com.example.backend.dto.FormResultsDTO;
+import com.example.backend.dto.OptionTallyDTO;
+import com.example.backend.dto.QuestionResultDTO;
+import com.example.backend.model.FormResultRollup;
+import com.example.backend.model.FormRollupState;
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.model.RollupWatermark;
+import com.example.backend.repository.AnswerRecordRepository;
+import com.example.backend.repository.AnswerSelectionRepository;
+import com.example.backend.repository.ArchivedAnswerSelectionRepository;
+import com.example.backend.repository.FormResultRollupRepository;
+import com.example.backend.repository.FormRollupStateRepository;
+import com.example.backend.repository.OptionTally;
+import com.example.backend.repository.QuestionOptionRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.RollupChangeRepository;
+import com.example.backend.repository.RollupWatermarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains form_result_rollups and form_rollup_states, the durable aggregated results served by
+ * GET /api/admin/forms/{id}/results.
+ * Every answer write logs its questions in rollup_changes in the same transaction (see {@link #markDirty}).
+ * A scheduled job reads the log and the counts in one transaction, so it sees a change exactly when it sees
+ * the answers behind it, recomputes only those questions' rows and their forms' respondent counts, and deletes
+ * the log rows it read. A change that commits while the job runs stays in the log for the next run, however
+ * late it commits; no clock is involved. The first run, with no watermark row yet, covers every question.
+ * Counts cover both answer tiers (see AnswerRecordRepository), so archiving a closed form's answers needs no refresh.
+ */
+@Service
+public class FormResultsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormResultsRollupService.class);
+    // Not "form_results": that row belonged to the updated_at watermark, and the first run under this name is a full pass
+    private static final String WATERMARK_NAME = "form_results_log";
+    private static final int CHUNK_SIZE = 500;
+
+    private final AnswerRecordRepository answerRecordRepository;
+    private final AnswerSelectionRepository answerSelectionRepository;
+    private final ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionRepository questionOptionRepository;
+    private final FormResultRollupRepository rollupRepository;
+    private final FormRollupStateRepository stateRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final RollupChangeRepository changeRepository;
+
+    private volatile long lastRunMillis;
+    private volatile int lastRunQuestions;
+    private volatile long lastRunDurationMs;
+
+    public FormResultsRollupService(AnswerRecordRepository answerRecordRepository,
+                                    AnswerSelectionRepository answerSelectionRepository,
+                                    ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository,
+                                    QuestionRepository questionRepository, QuestionOptionRepository questionOptionRepository,
+                                    FormResultRollupRepository rollupRepository, FormRollupStateRepository stateRepository,
+                                    RollupWatermarkRepository watermarkRepository, RollupChangeRepository changeRepository) {
+        this.answerRecordRepository = answerRecordRepository;
+        this.answerSelectionRepository = answerSelectionRepository;
+        this.archivedAnswerSelectionRepository = archivedAnswerSelectionRepository;
+        this.questionRepository = questionRepository;
+        this.questionOptionRepository = questionOptionRepository;
+        this.rollupRepository = rollupRepository;
+        this.stateRepository = stateRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.changeRepository = changeRepository;
+    }
+
+    /**
+     * Logs questions for recomputation on the next refresh. Call it in the transaction that writes or deletes
+     * the answers, or after that transaction has committed, never before: a refresh in between would consume
+     * the mark without seeing the change.
+     */
+    @Transactional
+    public void markDirty(Collection<Long> questionIds) {
+        if (!questionIds.isEmpty()) {
+            changeRepository.logChanges(new HashSet<>(questionIds));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${backend.app.rollup.refreshMs:30000}", initialDelayString = "${backend.app.rollup.initialDelayMs:10000}")
+    @Transactional
+    public void refresh() {
+        long started = System.currentTimeMillis();
+        Instant now = Instant.now();
+        Optional<RollupWatermark> watermark = watermarkRepository.findById(WATERMARK_NAME);
+
+        // Same snapshot as the counts below (this transaction's first read fixed it)
+        List<Long> changeIds = new ArrayList<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (Object[] change : changeRepository.findAllChanges()) {
+            changeIds.add((Long) change[0]);
+            questionIds.add((Long) change[1]);
+        }
+        if (watermark.isEmpty()) {
+            questionIds.addAll(questionRepository.findAllIds());
+        }
+
+        // Rows of deleted questions and forms
+        rollupRepository.deleteOrphans();
+        stateRepository.deleteOrphans();
+
+        Set<Long> formIds = new HashSet<>();
+        List<Long> ids = new ArrayList<>(questionIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            formIds.addAll(refreshQuestions(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+        }
+        refreshForms(formIds, now);
+
+        for (int from = 0; from < changeIds.size(); from += CHUNK_SIZE) {
+            changeRepository.deleteByIds(changeIds.subList(from, Math.min(from + CHUNK_SIZE, changeIds.size())));
+        }
+        watermarkRepository.save(new RollupWatermark(WATERMARK_NAME, now));
+
+        lastRunMillis = started;
+        lastRunQuestions = questionIds.size();
+        lastRunDurationMs = System.currentTimeMillis() - started;
+        if (!questionIds.isEmpty()) {
+            logger.info("FormResultsRollupService: Refreshed {} question(s) across {} form(s) in {} ms.",
+                    questionIds.size(), formIds.size(), lastRunDurationMs);
+        }
+    }
+
+    /**
+     * Results of a form, read from the rollup tables plus the form's questions and options.
+     * Options that are not in the rollup yet are listed with a count of 0.
+     */
+    @Transactional(readOnly = true)
+    public FormResultsDTO results(Long formId) {
+        List<Question> questions = questionRepository.findByFormId(formId);
+        Map<Long, Map<Long, Long>> counts = new HashMap<>();
+        for (FormResultRollup row : rollupRepository.findByFormId(formId)) {
+            counts.computeIfAbsent(row.getQuestionId(), id -> new HashMap<>()).put(row.getOptionId(), row.getResponseCount());
+        }
+        Map<Long, List<QuestionOption>> options = new HashMap<>();
+        if (!questions.isEmpty()) {
+            List<Long> questionIds = questions.stream().map(Question::getId).toList();
+            for (QuestionOption option : questionOptionRepository.findByQuestion_IdInOrderByPositionAsc(questionIds)) {
+                options.computeIfAbsent(option.getQuestion().getId(), id -> new ArrayList<>()).add(option);
+            }
+        }
+
+        List<QuestionResultDTO> results = new ArrayList<>();
+        for (Question question : questions) {
+            Map<Long, Long> questionCounts = counts.getOrDefault(question.getId(), Map.of());
+            List<OptionTallyDTO> optionTallies = new ArrayList<>();
+            if (QuestionOptionCatalog.isChoiceType(question.getType())) {
+                for (QuestionOption option : options.getOrDefault(question.getId(), List.of())) {
+                    long count = questionCounts.getOrDefault(option.getId(), 0L);
+                    if (!option.isRetired() || count > 0) {
+                        optionTallies.add(new OptionTallyDTO(option.getId(), option.getOptionText(), option.isRetired(), count));
+                    }
+                }
+            }
+            results.add(new QuestionResultDTO(question.getId(), question.getQuestionText(), question.getType(),
+                    questionCounts.getOrDefault(FormResultRollup.QUESTION_TOTAL, 0L), optionTallies));
+        }
+
+        Optional<FormRollupState> state = stateRepository.findById(formId);
+        return new FormResultsDTO(formId,
+                state.map(FormRollupState::getRespondentCount).orElse(0L),
+                state.map(FormRollupState::getRefreshedAt).orElse(null),
+                results);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunQuestions", lastRunQuestions);
+        stats.put("lastRunDurationMs", lastRunDurationMs);
+        return stats;
+    }
+
+    /**
+     * Replaces the rollup rows of a chunk of questions.
+     * @return The IDs of the forms the questions belong to.
+     */
+    private Set<Long> refreshQuestions(List<Long> questionIds) {
+        Map<Long, Long> formByQuestion = new HashMap<>();
+        for (Object[] row : questionRepository.findFormIdsByQuestionIds(questionIds)) {
+            if (row[1] != null) {
+                formByQuestion.put((Long) row[0], (Long) row[1]);
+            }
+        }
+
+        List<FormResultRollup> rows = new ArrayList<>();
+        for (Object[] row : answerRecordRepository.countResponsesByQuestion(questionIds)) {
+            Long questionId = ((Number) row[0]).longValue();
+            Long formId = formByQuestion.get(questionId);
+            if (formId != null) {
+                rows.add(new FormResultRollup(null, formId, questionId, FormResultRollup.QUESTION_TOTAL, ((Number) row[1]).longValue()));
+            }
+        }
+        // Both tiers: an archived answer keeps its selections in answer_selections_archive
+        Map<Long, FormResultRollup> optionRows = new HashMap<>();
+        List<OptionTally> tallies = new ArrayList<>(answerSelectionRepository.countByOptionForQuestions(questionIds));
+        tallies.addAll(archivedAnswerSelectionRepository.countByOptionForQuestions(questionIds));
+        for (OptionTally tally : tallies) {
+            Long formId = formByQuestion.get(tally.getQuestionId());
+            if (formId == null) {
+                continue;
+            }
+            FormResultRollup row = optionRows.computeIfAbsent(tally.getOptionId(),
+                    optionId -> new FormResultRollup(null, formId, tally.getQuestionId(), optionId, 0L));
+            row.setResponseCount(row.getResponseCount() + tally.getCount());
+        }
+        rows.addAll(optionRows.values());
+
+        rollupRepository.deleteByQuestionIds(questionIds);
+        rollupRepository.flush(); // Old rows must be gone before the unique key sees the new ones
+        rollupRepository.saveAll(rows);
+        return new HashSet<>(formByQuestion.values());
+    }
+
+    private void refreshForms(Set<Long> formIds, Instant now) {
+        if (formIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> respondents = new HashMap<>();
+        for (Object[] row : answerRecordRepository.countRespondentsByForm(formIds)) {
+            respondents.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        List<FormRollupState> states = new ArrayList<>();
+        for (Long formId : formIds) {
+            states.add(new FormRollupState(formId, respondents.getOrDefault(formId, 0L), now));
+        }
+        stateRepository.saveAll(states);
+    }
+}
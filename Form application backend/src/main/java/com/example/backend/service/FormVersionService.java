@@ -0,0 +1,251 @@
+// src/main/java/com/example/backend/service/FormVersionService.java
+package com.example.backend.service;
+
+import com.example.backend.dto.FormDTO;
+import com.example.backend.dto.QuestionDTO;
+import com.example.backend.model.Answer;
+import com.example.backend.model.Form;
+import com.example.backend.model.FormVersion;
+import com.example.backend.model.Question;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.FormVersionRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes forms as immutable versions. Admins edit the form and its questions in place; that is the draft.
+ * Publishing freezes the draft into a FormVersion holding the serialized FormDTO, and respondents are served
+ * that document by version ID. A version never changes once committed, so its serialized bytes are cached
+ * without any invalidation, both here and (by version URL) in the browser.
+ */
+@Service
+public class FormVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormVersionService.class);
+
+    private final FormRepository formRepository;
+    private final QuestionRepository questionRepository;
+    private final FormVersionRepository formVersionRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    // Version ID -> snapshot. Never invalidated, only bounded.
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${backend.app.formVersions.cacheMaxEntries:1000}")
+    private int maxEntries;
+
+    public FormVersionService(FormRepository formRepository, QuestionRepository questionRepository,
+                              FormVersionRepository formVersionRepository, ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.formRepository = formRepository;
+        this.questionRepository = questionRepository;
+        this.formVersionRepository = formVersionRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A published version, ready to be served.
+     * @param formId The form the version belongs to.
+     * @param definition The FormDTO document (with versionId and versionNumber set) as JSON and gzip bytes.
+     * @param questions The questions of the version as published, by ID; answers given against the version
+     *                  are validated against these rather than the draft (see AnswerSelectionService.resolve).
+     */
+    public record Snapshot(Long formId, FormDefinitionCache.Definition definition, Map<Long, QuestionDTO> questions) {
+    }
+
+    /**
+     * Freezes the current draft of a form into a new version and makes it the published one.
+     * Publishing a draft identical to the published version is a no-op that returns that version.
+     * @param formId The ID of the form.
+     * @return The published version, or empty if the form does not exist.
+     */
+    @Transactional
+    public Optional<FormVersion> publish(Long formId) {
+        Optional<Form> found = formRepository.findById(formId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Form form = found.get();
+        FormDTO document = new FormDTO(form, questionRepository.findByFormIdWithOptions(formId));
+        String contentHash = sha256Hex(toJson(document));
+        if (form.getPublishedVersionId() != null) {
+            Optional<FormVersion> current = formVersionRepository.findById(form.getPublishedVersionId());
+            if (current.isPresent() && current.get().getContentHash().equals(contentHash)) {
+                return current;
+            }
+        }
+
+        int versionNumber = formVersionRepository.findMaxVersionNumber(formId) + 1;
+        FormVersion version = formVersionRepository.save(
+                new FormVersion(null, form, versionNumber, "", contentHash, Instant.now(), document.getQuestions().size()));
+        // The document carries its own version ID, which is only known after the insert
+        document.setVersionId(version.getId());
+        document.setVersionNumber(versionNumber);
+        version.setDocument(new String(toJson(document), StandardCharsets.UTF_8));
+        form.setPublishedVersionId(version.getId());
+
+        eventPublisher.publishEvent(new FormChangedEvent(formId));
+        logger.info("FormVersionService: Published form {} as version {} (ID {}).", formId, versionNumber, version.getId());
+        return Optional.of(version);
+    }
+
+    /**
+     * @param versionId The ID of a published version.
+     * @return The version's serialized document, or empty if there is no such version.
+     */
+    public Optional<Snapshot> snapshot(Long versionId) {
+        Snapshot cached = snapshots.get(versionId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<FormVersion> version = formVersionRepository.findById(versionId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] document = version.get().getDocument().getBytes(StandardCharsets.UTF_8);
+        Snapshot snapshot = new Snapshot(version.get().getForm().getId(), FormDefinitionCache.Definition.of(document),
+                questionsOf(document, versionId));
+        if (snapshots.size() >= maxEntries) {
+            evictSome(maxEntries / 10 + 1);
+        }
+        snapshots.put(versionId, snapshot);
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * @return The question as published in the given version, or empty if the version does not exist or does not
+     *         contain the question (added to the draft later, or removed before it was published).
+     */
+    public Optional<QuestionDTO> questionAt(Long versionId, Long questionId) {
+        return snapshot(versionId).map(snapshot -> snapshot.questions().get(questionId));
+    }
+
+    /**
+     * @param formId The ID of the form.
+     * @return The form's currently published version, or empty if the form does not exist or was never published.
+     */
+    public Optional<Snapshot> published(Long formId) {
+        return formRepository.findById(formId)
+                .map(Form::getPublishedVersionId)
+                .flatMap(this::snapshot);
+    }
+
+    /**
+     * @return [versionId, formId, versionNumber, publishedAt] of every version of a form, newest first.
+     */
+    public List<Object[]> history(Long formId) {
+        return formVersionRepository.findHistoryByFormId(formId);
+    }
+
+    /**
+     * Sets the version each answer was given against. A version sent by the client is kept if it is a version
+     * of the answer's form; otherwise the form's currently published version is recorded.
+     * The questions must have their forms loaded (see QuestionRepository.findAllWithFormByIdIn).
+     * @param strict Whether a version of another form, or an unknown one, is rejected instead of replaced.
+     * @throws IllegalArgumentException in strict mode, if an answer names a version that does not belong to its form.
+     */
+    public void stampVersions(Collection<Answer> answers, Map<Long, Question> questions, boolean strict) {
+        for (Answer answer : answers) {
+            Question question = questions.get(answer.getQuestion().getId());
+            if (question == null || question.getForm() == null) {
+                continue;
+            }
+            Long formId = question.getForm().getId();
+            Long requested = answer.getFormVersionId();
+            if (requested != null) {
+                Optional<Snapshot> snapshot = snapshot(requested);
+                if (snapshot.isPresent() && snapshot.get().formId().equals(formId)) {
+                    continue;
+                }
+                if (strict) {
+                    throw new IllegalArgumentException("Error: Unknown version of form " + formId + ".");
+                }
+            }
+            answer.setFormVersionId(question.getForm().getPublishedVersionId());
+        }
+    }
+
+    /**
+     * One-time migration: when no version exists yet, every form is published as it stands, so forms created
+     * before versioning stay available to respondents. Afterwards new forms remain drafts until published.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(20)
+    public void publishExistingForms() {
+        if (formVersionRepository.count() > 0) {
+            return;
+        }
+        int published = 0;
+        for (Form form : formRepository.findAll()) {
+            transactionTemplate.executeWithoutResult(status -> publish(form.getId()));
+            published++;
+        }
+        logger.info("FormVersionService: Published {} existing form(s) as version 1.", published);
+    }
+
+    private byte[] toJson(FormDTO document) {
+        try {
+            return objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize form " + document.getId(), e);
+        }
+    }
+
+    private Map<Long, QuestionDTO> questionsOf(byte[] document, Long versionId) {
+        try {
+            List<QuestionDTO> questions = objectMapper.readValue(document, FormDTO.class).getQuestions();
+            Map<Long, QuestionDTO> byId = new HashMap<>();
+            if (questions != null) {
+                questions.forEach(question -> byId.put(question.getId(), question));
+            }
+            return Map.copyOf(byId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read version " + versionId, e);
+        }
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    private void evictSome(int count) {
+        Iterator<Long> iterator = snapshots.keySet().iterator();
+        for (int i = 0; i < count && iterator.hasNext(); i++) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+// src/main/java/com/example/backend/service/LiveTallyService.java
+package com.example.backend.service;
+
+import com.example.backend.dto.QuestionTallyDTO;
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.repository.AnswerSelectionRepository;
+import com.example.backend.repository.ArchivedAnswerSelectionRepository;
+import com.example.backend.repository.OptionTally;
+import com.example.backend.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live per-option selection counters, kept in memory and updated from SelectionsChangedEvent after each commit.
+ * Each (question, option) pair is a LongAdder, so concurrent submissions add to striped cells instead of
+ * contending on one value, and changing an answer decrements the options it no longer selects.
+ * Counters are rebuilt from answer_selections (an index-only GROUP BY) at startup, before the server takes
+ * requests, and checkpointed to a local file that is used if that rebuild fails. Reading results never touches answers.
+ * Counters reflect the writes of this instance plus the database state at startup.
+ * Events that arrive while a rebuild is counting are buffered and replayed onto the rebuilt counters, which are
+ * swapped in under the write side of the lock every increment holds the read side of, so no delta is lost.
+ * An event whose transaction committed before the count query but whose listener ran after the rebuild started
+ * is counted twice; that window is the gap between a commit and its after-commit callback.
+ */
+@Service
+public class LiveTallyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTallyService.class);
+    private static final int CHECKPOINT_MAGIC = 0x4C544331; // "LTC1"
+
+    private final AnswerSelectionRepository answerSelectionRepository;
+    private final ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionCatalog questionOptionCatalog;
+
+    // Option ID -> number of answers selecting it
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+    // Increments hold the read lock (so they still run concurrently); swapping the counters holds the write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Deltas that arrived during a rebuild, replayed after the swap; null when no rebuild is running
+    private Queue<Map<Long, Integer>> pendingDeltas;
+    private volatile long loadedAtMillis;
+    private volatile String loadedFrom = "none";
+    private volatile long checkpointedAtMillis;
+
+    @Value("${backend.app.liveTally.checkpointPath:./data/live-tally.checkpoint}")
+    private String checkpointPath;
+
+    public LiveTallyService(AnswerSelectionRepository answerSelectionRepository,
+                            ArchivedAnswerSelectionRepository archivedAnswerSelectionRepository,
+                            QuestionRepository questionRepository, QuestionOptionCatalog questionOptionCatalog) {
+        this.answerSelectionRepository = answerSelectionRepository;
+        this.archivedAnswerSelectionRepository = archivedAnswerSelectionRepository;
+        this.questionRepository = questionRepository;
+        this.questionOptionCatalog = questionOptionCatalog;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            if (!loadCheckpoint()) {
+                throw e;
+            }
+            logger.warn("LiveTallyService: Rebuild failed ({}), serving counters from checkpoint.", e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces all counters with the current counts from answer_selections and answer_selections_archive.
+     */
+    public synchronized void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            pendingDeltas = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        try {
+            for (OptionTally tally : answerSelectionRepository.countByOption()) {
+                counts.merge(tally.getOptionId(), tally.getCount(), Long::sum);
+            }
+            for (OptionTally tally : archivedAnswerSelectionRepository.countByOption()) {
+                counts.merge(tally.getOptionId(), tally.getCount(), Long::sum);
+            }
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                pendingDeltas.forEach(this::apply); // Keep the current counters, with everything that arrived meanwhile
+                pendingDeltas = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+        replaceCounters(counts);
+        loadedFrom = "database";
+        logger.info("LiveTallyService: Rebuilt {} option counter(s) from the database.", counts.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSelectionsChanged(SelectionsChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            if (pendingDeltas != null) {
+                pendingDeltas.add(event.optionDeltas());
+            } else {
+                apply(event.optionDeltas());
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Map<Long, Integer> optionDeltas) {
+        optionDeltas.forEach((optionId, delta) -> counters.computeIfAbsent(optionId, id -> new LongAdder()).add(delta));
+    }
+
+    /**
+     * Live option counts for every radio/checkbox question of a form.
+     * Reads the form's questions and options; counts come from memory.
+     */
+    @Transactional // optionsFor may create option rows for a question that has none yet
+    public List<QuestionTallyDTO> liveResults(Long formId) {
+        List<Question> questions = questionRepository.findByFormId(formId);
+        Map<Long, List<QuestionOption>> options = questionOptionCatalog.optionsFor(questions);
+        Map<Long, Long> counts = new HashMap<>();
+        swapLock.readLock().lock(); // Never reads a half-swapped map
+        try {
+            options.values().forEach(questionOptions -> questionOptions.forEach(option -> {
+                LongAdder counter = counters.get(option.getId());
+                counts.put(option.getId(), counter == null ? 0L : Math.max(0L, counter.sum()));
+            }));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        return AnswerSelectionService.toTallies(questions, options, counts);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("counters", counters.size());
+        stats.put("loadedFrom", loadedFrom);
+        stats.put("loadedAtMillis", loadedAtMillis);
+        stats.put("checkpointedAtMillis", checkpointedAtMillis);
+        return stats;
+    }
+
+    /**
+     * Writes all counters to the checkpoint file (written to a temporary file, then moved into place).
+     */
+    @Scheduled(fixedDelayString = "${backend.app.liveTally.checkpointMs:60000}", initialDelayString = "${backend.app.liveTally.checkpointMs:60000}")
+    @PreDestroy
+    public void checkpoint() {
+        Path target = Path.of(checkpointPath);
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = parent.resolve(target.getFileName() + ".tmp");
+            Map<Long, Long> snapshot = new HashMap<>();
+            counters.forEach((optionId, counter) -> snapshot.put(optionId, counter.sum()));
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, Long> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointedAtMillis = System.currentTimeMillis();
+        } catch (IOException e) {
+            logger.error("LiveTallyService: Checkpoint to {} failed: {}", target, e.getMessage());
+        }
+    }
+
+    private boolean loadCheckpoint() {
+        Path source = Path.of(checkpointPath);
+        if (!Files.exists(source)) {
+            return false;
+        }
+        try (InputStream file = Files.newInputStream(source);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                return false;
+            }
+            long writtenAt = in.readLong();
+            int size = in.readInt();
+            Map<Long, Long> counts = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                counts.put(in.readLong(), in.readLong());
+            }
+            replaceCounters(counts);
+            loadedFrom = "checkpoint@" + writtenAt;
+            return true;
+        } catch (IOException e) {
+            logger.error("LiveTallyService: Could not read checkpoint {}: {}", source, e.getMessage());
+            return false;
+        }
+    }
+
+    // Swaps in the given counts, then replays the deltas buffered by a running rebuild
+    private void replaceCounters(Map<Long, Long> counts) {
+        swapLock.writeLock().lock();
+        try {
+            counters.clear();
+            counts.forEach((optionId, count) -> {
+                LongAdder counter = new LongAdder();
+                counter.add(count);
+                counters.put(optionId, counter);
+            });
+            if (pendingDeltas != null) {
+                pendingDeltas.forEach(this::apply);
+                pendingDeltas = null;
+            }
+            loadedAtMillis = System.currentTimeMillis();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+}
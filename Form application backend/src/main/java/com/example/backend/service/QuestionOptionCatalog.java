@@ -0,0 +1,161 @@
+// src/main/java/com/example/backend/service/QuestionOptionCatalog.java
+package com.example.backend.service;
+
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.repository.QuestionOptionRepository;
+import com.example.backend.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the choice_options rows (options with stable ids) in line with each question's option texts.
+ * Question.options stays the API representation; these rows exist so selections can reference an option by id.
+ * Matching is by text: renaming an option retires the old row and creates a new one.
+ */
+@Service
+public class QuestionOptionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionOptionCatalog.class);
+
+    private final QuestionOptionRepository questionOptionRepository;
+    private final QuestionRepository questionRepository;
+
+    public QuestionOptionCatalog(QuestionOptionRepository questionOptionRepository, QuestionRepository questionRepository) {
+        this.questionOptionRepository = questionOptionRepository;
+        this.questionRepository = questionRepository;
+    }
+
+    public static boolean isChoiceType(String type) {
+        return "radio".equalsIgnoreCase(type) || "checkbox".equalsIgnoreCase(type);
+    }
+
+    /**
+     * Syncs the option rows of one question after it has been saved.
+     */
+    @Transactional
+    public void syncOptions(Question question) {
+        syncOptions(question, questionOptionRepository.findByQuestion_IdInOrderByPositionAsc(List.of(question.getId())));
+    }
+
+    /**
+     * Creates the option rows of questions that were just inserted (bulk import, clone), saving all of them
+     * in one batch instead of one lookup and save per question.
+     * @return The number of option rows created.
+     */
+    @Transactional
+    public int createOptions(Collection<Question> newQuestions) {
+        List<QuestionOption> rows = new ArrayList<>();
+        for (Question question : newQuestions) {
+            rows.addAll(changedRows(question, List.of()));
+        }
+        questionOptionRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Syncs every question at startup, after the data seeding runners, in two queries plus the changed rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    @Transactional
+    public void syncAll() {
+        Map<Long, List<QuestionOption>> existing = questionOptionRepository.findAll().stream()
+                .collect(Collectors.groupingBy(option -> option.getQuestion().getId()));
+        int changed = 0;
+        for (Question question : questionRepository.findAllWithOptions()) {
+            changed += syncOptions(question, existing.getOrDefault(question.getId(), List.of()));
+        }
+        logger.info("QuestionOptionCatalog: Synced options, {} row(s) changed.", changed);
+    }
+
+    /**
+     * Loads the option rows (including retired ones) of the given questions in one query. Questions that are no
+     * longer choice questions keep their rows too, for answers given against a version where they still were.
+     * A choice question that has no rows yet is synced on the spot.
+     * @return Question ID -> options in position order.
+     */
+    @Transactional
+    public Map<Long, List<QuestionOption>> optionsFor(Collection<Question> questions) {
+        if (questions.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Question> choiceQuestions = new HashMap<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (Question question : questions) {
+            questionIds.add(question.getId());
+            if (isChoiceType(question.getType())) {
+                choiceQuestions.put(question.getId(), question);
+            }
+        }
+        Map<Long, List<QuestionOption>> options = new HashMap<>(questionOptionRepository
+                .findByQuestion_IdInOrderByPositionAsc(questionIds).stream()
+                .collect(Collectors.groupingBy(option -> option.getQuestion().getId())));
+        List<Long> unsynced = new ArrayList<>();
+        choiceQuestions.forEach((id, question) -> {
+            if (!options.containsKey(id) && question.getOptions() != null && !question.getOptions().isEmpty()) {
+                syncOptions(question, List.of());
+                unsynced.add(id);
+            }
+        });
+        if (!unsynced.isEmpty()) {
+            options.putAll(questionOptionRepository.findByQuestion_IdInOrderByPositionAsc(unsynced).stream()
+                    .collect(Collectors.groupingBy(option -> option.getQuestion().getId())));
+        }
+        return options;
+    }
+
+    /**
+     * @return The number of option rows created or changed.
+     */
+    private int syncOptions(Question question, List<QuestionOption> existing) {
+        List<QuestionOption> changed = changedRows(question, existing);
+        if (!changed.isEmpty()) {
+            questionOptionRepository.saveAll(changed);
+        }
+        return changed.size();
+    }
+
+    // The option rows to insert or update so the rows match the question's option texts
+    private static List<QuestionOption> changedRows(Question question, List<QuestionOption> existing) {
+        Map<String, QuestionOption> byText = new HashMap<>();
+        existing.forEach(option -> byText.put(option.getOptionText(), option));
+
+        Set<String> texts = question.getOptions() == null ? Set.of() : new LinkedHashSet<>(question.getOptions());
+        List<QuestionOption> changed = new ArrayList<>();
+        int position = 0;
+        for (String text : texts) {
+            QuestionOption option = byText.get(text);
+            if (option == null) {
+                changed.add(new QuestionOption(null, question, text, position, false));
+            } else if (option.isRetired() || option.getPosition() != position) {
+                option.setRetired(false);
+                option.setPosition(position);
+                changed.add(option);
+            }
+            position++;
+        }
+        for (QuestionOption option : existing) {
+            if (!texts.contains(option.getOptionText()) && !option.isRetired()) {
+                option.setRetired(true); // Kept so earlier selections still resolve
+                changed.add(option);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,379 @@
+// src/main/java/com/example/backend/service/QuestionSearchIndex.java
+package com.example.backend.service;
+
+import com.example.backend.model.Question;
+import com.example.backend.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over question texts and options, replacing LIKE '%term%' scans.
+ * Text is folded (lower case, accents stripped) and split into tokens. Two posting maps point at int document IDs:
+ * - tokens, kept sorted, for exact and prefix matches (and for query terms shorter than a trigram)
+ * - trigrams of every token, for substring matches; candidates are verified against the text before scoring
+ * Postings are int arrays in ascending document order, so lookups are merges of sorted arrays.
+ * A form is re-indexed as a whole on FormChangedEvent, which every question mutation publishes after commit;
+ * its old documents are tombstoned and the index is compacted once tombstones outnumber live documents.
+ */
+@Service
+public class QuestionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM = 3;
+    private static final int COMPACT_MIN_DELETED = 1000;
+
+    // Per query term: whole token > token prefix > substring; matches in the question text count double
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 2.0;
+    private static final double SUBSTRING_SCORE = 1.0;
+    private static final double TEXT_WEIGHT = 2.0;
+    private static final double OPTION_WEIGHT = 1.0;
+    private static final double PHRASE_BONUS = 2.0;
+
+    /**
+     * A search result.
+     * @param score Higher is better; only comparable within one search.
+     */
+    public record Hit(Long questionId, Long formId, String questionText, String type, double score) {
+    }
+
+    /**
+     * One window of the ranked hits of a search.
+     * @param total The number of questions matching the search, not just those in the window.
+     */
+    public record Result(List<Hit> hits, int total) {
+        static final Result EMPTY = new Result(List.of(), 0);
+    }
+
+    // An indexed question with its folded text and options
+    private record Doc(Long questionId, Long formId, String questionText, String type,
+                       String text, String[] textTokens, String options, String[] optionTokens) {
+    }
+
+    // Growable int array; appended in ascending document order, so always sorted
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private final QuestionRepository questionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes re-indexing, so the last load of a form is also the last one applied
+    private final Object reindexLock = new Object();
+
+    // Guarded by lock
+    private final List<Doc> docs = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, IntList> formDocs = new HashMap<>();
+    private final TreeMap<String, IntList> tokens = new TreeMap<>();
+    private final HashMap<String, IntList> grams = new HashMap<>();
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder reindexes = new LongAdder();
+
+    public QuestionSearchIndex(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Ranked search; every term of the query must match a token of the question text or options,
+     * by prefix, or by substring for terms of three characters or more.
+     * @param query Free text.
+     * @param formId The form to search, or null to search every form.
+     * @param offset The number of best hits to skip.
+     * @param maxResults The maximum number of hits returned.
+     * @return Hits, best first (ties by question ID), with the total number of matches.
+     */
+    public Result search(String query, Long formId, long offset, int maxResults) {
+        searches.increment();
+        String folded = fold(query == null ? "" : query);
+        String[] terms = tokenize(folded);
+        if (terms.length == 0) {
+            return Result.EMPTY;
+        }
+        String phrase = String.join(" ", terms);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates;
+            if (formId != null) {
+                IntList scoped = formDocs.get(formId);
+                if (scoped == null) {
+                    return Result.EMPTY;
+                }
+                candidates = scoped.toArray();
+            } else {
+                candidates = null;
+            }
+            for (String term : new LinkedHashSet<>(Arrays.asList(terms))) {
+                int[] postings = postings(term);
+                candidates = candidates == null ? postings : intersect(candidates, postings);
+                if (candidates.length == 0) {
+                    return Result.EMPTY;
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (int docId : candidates) {
+                if (deleted.get(docId)) {
+                    continue;
+                }
+                Doc doc = docs.get(docId);
+                double score = 0;
+                boolean allMatched = true;
+                for (String term : terms) {
+                    double termScore = TEXT_WEIGHT * score(term, doc.text(), doc.textTokens())
+                            + OPTION_WEIGHT * score(term, doc.options(), doc.optionTokens());
+                    if (termScore == 0) {
+                        allMatched = false; // A trigram false positive
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (!allMatched) {
+                    continue;
+                }
+                if (terms.length > 1 && doc.text().contains(phrase)) {
+                    score += PHRASE_BONUS;
+                }
+                hits.add(new Hit(doc.questionId(), doc.formId(), doc.questionText(), doc.type(), score));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::questionId));
+            int from = (int) Math.min(offset, hits.size());
+            int to = Math.min(from + maxResults, hits.size());
+            return new Result(new ArrayList<>(hits.subList(from, to)), hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormChanged(FormChangedEvent event) {
+        if (event.formId() != null) {
+            reindexForm(event.formId());
+        }
+    }
+
+    /**
+     * Replaces the indexed questions of a form with its current ones (none if the form was deleted).
+     */
+    public void reindexForm(Long formId) {
+        synchronized (reindexLock) {
+            List<Question> questions = questionRepository.findByFormIdWithOptions(formId);
+            lock.writeLock().lock();
+            try {
+                IntList previous = formDocs.remove(formId);
+                if (previous != null) {
+                    for (int i = 0; i < previous.size; i++) {
+                        deleted.set(previous.values[i]);
+                    }
+                }
+                for (Question question : questions) {
+                    add(question, formId);
+                }
+                int deletedCount = deleted.cardinality();
+                if (deletedCount >= COMPACT_MIN_DELETED && deletedCount > docs.size() - deletedCount) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            reindexes.increment();
+        }
+    }
+
+    /**
+     * Builds the index from every question at startup, after the data seeding runners.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(30)
+    public void rebuild() {
+        synchronized (reindexLock) {
+            List<Question> questions = questionRepository.findAllWithOptions();
+            lock.writeLock().lock();
+            try {
+                clear();
+                for (Question question : questions) {
+                    if (question.getForm() != null && !question.isRemoved()) {
+                        add(question, question.getForm().getId());
+                    }
+                }
+                logger.info("QuestionSearchIndex: Indexed {} question(s), {} token(s), {} trigram(s).",
+                        docs.size(), tokens.size(), grams.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            int deletedCount = deleted.cardinality();
+            stats.put("questions", docs.size() - deletedCount);
+            stats.put("tombstones", deletedCount);
+            stats.put("tokens", tokens.size());
+            stats.put("trigrams", grams.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("searches", searches.sum());
+        stats.put("reindexes", reindexes.sum());
+        return stats;
+    }
+
+    // Caller holds the write lock
+    private void add(Question question, Long formId) {
+        String text = fold(question.getQuestionText() == null ? "" : question.getQuestionText());
+        String options = question.getOptions() == null ? "" : fold(String.join("\n", question.getOptions()));
+        addDoc(new Doc(question.getId(), formId, question.getQuestionText(), question.getType(),
+                text, tokenize(text), options, tokenize(options)));
+    }
+
+    // Caller holds the write lock
+    private void addDoc(Doc doc) {
+        int docId = docs.size();
+        docs.add(doc);
+        formDocs.computeIfAbsent(doc.formId(), id -> new IntList()).add(docId);
+
+        Set<String> docTokens = new LinkedHashSet<>(Arrays.asList(doc.textTokens()));
+        docTokens.addAll(Arrays.asList(doc.optionTokens()));
+        Set<String> docGrams = new LinkedHashSet<>();
+        for (String token : docTokens) {
+            tokens.computeIfAbsent(token, t -> new IntList()).add(docId);
+            for (int i = 0; i + GRAM <= token.length(); i++) {
+                docGrams.add(token.substring(i, i + GRAM));
+            }
+        }
+        for (String gram : docGrams) {
+            grams.computeIfAbsent(gram, g -> new IntList()).add(docId);
+        }
+    }
+
+    // Re-adds the live documents under new, dense IDs. Caller holds the write lock.
+    private void compact() {
+        List<Doc> live = new ArrayList<>(docs.size() - deleted.cardinality());
+        for (int docId = 0; docId < docs.size(); docId++) {
+            if (!deleted.get(docId)) {
+                live.add(docs.get(docId));
+            }
+        }
+        clear();
+        live.forEach(this::addDoc);
+        logger.debug("QuestionSearchIndex: Compacted to {} question(s).", live.size());
+    }
+
+    private void clear() {
+        docs.clear();
+        deleted.clear();
+        formDocs.clear();
+        tokens.clear();
+        grams.clear();
+    }
+
+    // Candidate documents for one folded term, in ascending order. Caller holds the read lock.
+    private int[] postings(String term) {
+        if (term.length() < GRAM) {
+            // Too short for trigrams: union of the tokens it is a prefix of
+            BitSet union = new BitSet();
+            for (IntList list : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < list.size; i++) {
+                    union.set(list.values[i]);
+                }
+            }
+            return union.stream().toArray();
+        }
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            IntList list = grams.get(term.substring(i, i + GRAM));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size)); // Rarest first keeps the merges short
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i).toArray());
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static double score(String term, String field, String[] fieldTokens) {
+        double best = 0;
+        for (String token : fieldTokens) {
+            if (token.equals(term)) {
+                return EXACT_SCORE;
+            }
+            if (token.startsWith(term)) {
+                best = PREFIX_SCORE;
+            }
+        }
+        if (best == 0 && term.length() >= GRAM && field.contains(term)) {
+            best = SUBSTRING_SCORE;
+        }
+        return best;
+    }
+
+    private static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] tokenize(String folded) {
+        return Arrays.stream(SEPARATORS.split(folded)).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+}
@@ -1,16 +1,27 @@
 // src/main/java/com/example/backend/service/QuestionService.java
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorResponse;
+import com.example.backend.dto.FilterCriteria;
+import com.example.backend.dto.PagedResponse;
 import com.example.backend.model.Question;
 import com.example.backend.repository.QuestionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class QuestionService {
@@ -21,9 +32,19 @@ public class QuestionService {
     private static final List<Integer> SUGGESTED_SIZES = List.of(5, 10, 15, 20, 25, 50);
 
     private final QuestionRepository questionRepository;
+    private final QuestionOptionCatalog questionOptionCatalog;
+    private final FilterService filterService;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository, QuestionOptionCatalog questionOptionCatalog,
+                           FilterService filterService, QuestionSearchIndex questionSearchIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.questionRepository = questionRepository;
+        this.questionOptionCatalog = questionOptionCatalog;
+        this.filterService = filterService;
+        this.questionSearchIndex = questionSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -36,18 +57,44 @@ public class QuestionService {
      * @return Page of questions.
      */
     public Page<Question> getQuestionsByFormId(Long formId, int pageNo, int questionLimit, String sortBy, String sortDirection) {
-        // Validate and adjust page parameters
-        pageNo = validatePageNumber(pageNo);
-        questionLimit = validatePageSize(questionLimit);
+        // Return paginated results
+        return questionRepository.findByFormIdAndRemovedFalse(formId, createPageable(pageNo, questionLimit, sortBy, sortDirection));
+    }
 
-        // Create sort object with validation
-        Sort sort = createSort(sortBy, sortDirection);
+    /**
+     * Same as {@link #getQuestionsByFormId}, with the total obtained as the count mode says (cached or estimated).
+     * @param mode CACHED or ESTIMATED; see FilterService.getFilteredPage.
+     * @return The page, with the count mode actually used.
+     */
+    public PagedResponse<Question> getQuestionsByFormIdPage(Long formId, int pageNo, int questionLimit, String sortBy,
+                                                           String sortDirection, TotalCountService.Mode mode) {
+        return filterService.getFilteredPage(Question.class, formFilters(formId),
+                createPageable(pageNo, questionLimit, sortBy, sortDirection), mode);
+    }
 
-        // Create pageable object
-        Pageable pageable = PageRequest.of(pageNo, questionLimit, sort);
+    /**
+     * Same as {@link #getQuestionsByFormId} without the COUNT query: the slice only tells whether a next page exists.
+     */
+    public Slice<Question> getQuestionsByFormIdSlice(Long formId, int pageNo, int questionLimit, String sortBy,
+                                                     String sortDirection) {
+        return filterService.getFilteredSlice(Question.class, formFilters(formId),
+                createPageable(pageNo, questionLimit, sortBy, sortDirection));
+    }
 
-        // Return paginated results
-        return questionRepository.findByFormId(formId, pageable);
+    /**
+     * Get the questions of a form after a keyset cursor (see FilterService.getFilteredResultsAfter).
+     * @param formId The ID of the form.
+     * @param cursor The previous page's nextCursor, or empty for the first page.
+     * @param questionLimit The number of questions per page.
+     * @param sortBy The field to sort by.
+     * @param sortDirection The sort direction (asc/desc).
+     * @return The questions with the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is invalid or was issued for another sort.
+     */
+    public CursorResponse<Question> getQuestionsByFormIdAfter(Long formId, String cursor, int questionLimit,
+                                                             String sortBy, String sortDirection) {
+        return filterService.getFilteredResultsAfter(Question.class, formFilters(formId), cursor, validatePageSize(questionLimit),
+                validateSortField(sortBy), sortDirection);
     }
 
     /**
@@ -56,37 +103,56 @@ public class QuestionService {
      * @return List of questions.
      */
     public List<Question> getAllQuestionsByFormId(Long formId) {
-        return questionRepository.findByFormId(formId);
+        return questionRepository.findByFormIdAndRemovedFalse(formId);
     }
 
     /**
      * Get a single question by ID.
      * @param questionId The ID of the question.
-     * @return Optional containing the question if found.
+     * @return Optional containing the question if found (and not removed from its form).
      */
     public Optional<Question> getQuestionById(Long questionId) {
-        return questionRepository.findById(questionId);
+        return questionRepository.findById(questionId).filter(question -> !question.isRemoved());
     }
 
     /**
-     * Save a question (create or update).
+     * Save a question (create or update) and sync its option rows.
      * @param question The question to save.
      * @return The saved question.
      */
     public Question saveQuestion(Question question) {
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        questionOptionCatalog.syncOptions(saved);
+        eventPublisher.publishEvent(new FormChangedEvent(saved.getForm() != null ? saved.getForm().getId() : null));
+        return saved;
     }
 
     /**
-     * Delete a question by ID.
+     * Delete a question by ID. Once its form has been published the question is only marked removed:
+     * answers given against a published version may still arrive for it, and existing ones keep their question.
      * @param questionId The ID of the question to delete.
      */
+    @Transactional
     public void deleteQuestion(Long questionId) {
-        questionRepository.deleteById(questionId);
+        Optional<Question> found = questionRepository.findById(questionId);
+        if (found.isEmpty()) {
+            return;
+        }
+        Question question = found.get();
+        Long formId = question.getForm() != null ? question.getForm().getId() : null;
+        if (question.getForm() != null && question.getForm().getPublishedVersionId() != null) {
+            question.setRemoved(true);
+            questionRepository.save(question);
+        } else {
+            questionRepository.delete(question);
+        }
+        eventPublisher.publishEvent(new FormChangedEvent(formId));
     }
 
     /**
      * Advanced pagination method with search functionality.
+     * With a search term the questions come from QuestionSearchIndex, ranked by relevance (sortBy is ignored);
+     * the total is the exact number of matches.
      * @param formId The ID of the form.
      * @param pageNo The page number (0-based).
      * @param questionLimit The number of questions per page.
@@ -103,12 +169,41 @@ public class QuestionService {
         Pageable pageable = PageRequest.of(pageNo, questionLimit, sort);
 
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            return questionRepository.findByFormIdAndSearchTerm(formId, searchTerm.trim(), pageable);
+            QuestionSearchIndex.Result result = questionSearchIndex.search(searchTerm, formId, pageable.getOffset(), pageable.getPageSize());
+            List<Long> pageIds = result.hits().stream().map(QuestionSearchIndex.Hit::questionId).toList();
+            // One query for the page, then back into ranked order
+            Map<Long, Question> questions = questionRepository.findAllById(pageIds).stream()
+                    .collect(Collectors.toMap(Question::getId, Function.identity()));
+            List<Question> content = pageIds.stream().map(questions::get).filter(Objects::nonNull).toList();
+            return new PageImpl<>(content, pageable, result.total());
         } else {
-            return questionRepository.findByFormId(formId, pageable);
+            return questionRepository.findByFormIdAndRemovedFalse(formId, pageable);
         }
     }
 
+    /**
+     * Searches the questions of every form (admin search), ranked by relevance.
+     * @param searchTerm The search term.
+     * @param pageNo The page number (0-based).
+     * @param questionLimit The number of hits per page.
+     * @return Page of hits, each with its form ID.
+     */
+    public Page<QuestionSearchIndex.Hit> searchAllQuestions(String searchTerm, int pageNo, int questionLimit) {
+        Pageable pageable = PageRequest.of(validatePageNumber(pageNo), validatePageSize(questionLimit));
+        QuestionSearchIndex.Result result = questionSearchIndex.search(searchTerm, null, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(result.hits(), pageable, result.total());
+    }
+
+    // The questions a form currently shows: removed ones stay in the table for published versions only
+    private static List<FilterCriteria> formFilters(Long formId) {
+        return List.of(new FilterCriteria("form.id", "eq", formId), new FilterCriteria("removed", "eq", false));
+    }
+
+    // Validated page number, page size and sort
+    private Pageable createPageable(int pageNo, int questionLimit, String sortBy, String sortDirection) {
+        return PageRequest.of(validatePageNumber(pageNo), validatePageSize(questionLimit), createSort(sortBy, sortDirection));
+    }
+
     /**
      * Validate and adjust page number.
      * @param pageNo The requested page number.
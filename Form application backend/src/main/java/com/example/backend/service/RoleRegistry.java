@@ -0,0 +1,73 @@
+// src/main/java/com/example/backend/service/RoleRegistry.java
+package com.example.backend.service;
+
+import com.example.backend.model.ERole;
+import com.example.backend.model.Role;
+import com.example.backend.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable ERole -> Role reference data, loaded once at startup.
+ * Roles never change at runtime, so every role lookup (sign-up, admin user writes, the roles filter)
+ * is served from this map instead of a roleRepository.findByName round trip.
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private Map<ERole, Role> roles = Collections.emptyMap();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Loads all roles in one query and creates any ERole that is missing from the database.
+     */
+    @PostConstruct
+    public void load() {
+        EnumMap<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+        for (ERole name : ERole.values()) {
+            if (!loaded.containsKey(name)) {
+                loaded.put(name, roleRepository.save(new Role(null, name)));
+                logger.info("RoleRegistry: Created missing role {}", name);
+            }
+        }
+        this.roles = Collections.unmodifiableMap(loaded);
+        logger.info("RoleRegistry: Loaded {} role(s).", roles.size());
+    }
+
+    /**
+     * @param name The role name.
+     * @return The persisted Role for that name.
+     */
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            throw new IllegalStateException("Error: Role is not found: " + name);
+        }
+        return role;
+    }
+
+    /**
+     * Resolves a role name as it arrives in request parameters (e.g. "ROLE_ADMIN").
+     * @return The Role, or null if the name is not a known ERole.
+     */
+    public Role find(String name) {
+        try {
+            return roles.get(ERole.valueOf(name.trim()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
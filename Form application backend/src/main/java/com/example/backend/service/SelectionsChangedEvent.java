@@ -0,0 +1,10 @@
+package com.example.backend.service;
+
+import java.util.Map;
+
+/**
+ * Published when answer_selections rows change; consumers see it after the transaction commits.
+ * @param optionDeltas Option ID -> change in selection count.
+ */
+public record SelectionsChangedEvent(Map<Long, Integer> optionDeltas) {
+}
@@ -0,0 +1,153 @@
+// src/main/java/com/example/backend/service/TotalCountService.java
+package com.example.backend.service;
+
+import com.example.backend.dto.FilterCriteria;
+import com.example.backend.model.Answer;
+import com.example.backend.model.AnswerRecord;
+import com.example.backend.model.ArchivedAnswer;
+import com.example.backend.model.Form;
+import com.example.backend.model.Question;
+import com.example.backend.model.Role;
+import com.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Totals for paged listings that do not need an exact COUNT(*) on every request.
+ * - cached: the exact count, reused for a short TTL by every request with the same filter set
+ * - estimated: the row count from table statistics (information_schema.TABLES), only for unfiltered listings
+ * - none: no total at all; the listing is returned as a slice that only knows whether there is a next page
+ */
+@Service
+public class TotalCountService {
+
+    // InnoDB row estimates of the tables behind each listed entity (AnswerRecord spans both answer tiers)
+    private static final Map<Class<?>, List<String>> ESTIMATE_TABLES = Map.of(
+            User.class, List.of("users"),
+            Form.class, List.of("forms"),
+            Question.class, List.of("question"),
+            Answer.class, List.of("answers"),
+            ArchivedAnswer.class, List.of("answers_archive"),
+            AnswerRecord.class, List.of("answers", "answers_archive"));
+
+    private static final String ESTIMATE_SQL =
+            "SELECT COALESCE(SUM(TABLE_ROWS), 0) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN (%s)";
+
+    public enum Mode {
+        EXACT, CACHED, ESTIMATED, NONE;
+
+        /**
+         * @throws IllegalArgumentException for an unknown mode.
+         */
+        public static Mode parse(String value) {
+            try {
+                return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Error: Unknown count mode " + value + " (exact, cached, estimated or none).");
+            }
+        }
+    }
+
+    private record CachedCount(long count, long expiresAtMillis) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${backend.app.countCache.ttlMs:30000}")
+    private long ttlMs;
+
+    @Value("${backend.app.countCache.maxEntries:1000}")
+    private int maxEntries;
+
+    public TotalCountService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The exact count for a filter set, computed at most once per TTL.
+     * @param type The listed entity.
+     * @param filters The filters of the listing; their order does not matter.
+     * @param exactCount Runs the COUNT(*) on a miss.
+     */
+    public long cached(Class<?> type, List<FilterCriteria> filters, LongSupplier exactCount) {
+        String key = key(type, filters);
+        CachedCount cached = counts.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAtMillis() > now) {
+            hits.increment();
+            return cached.count();
+        }
+        misses.increment();
+        long count = exactCount.getAsLong();
+        if (counts.size() >= maxEntries) {
+            evictExpired();
+        }
+        if (counts.size() < maxEntries) {
+            counts.put(key, new CachedCount(count, now + ttlMs));
+        }
+        return count;
+    }
+
+    /**
+     * @return The estimated row count of an entity's tables, or empty if no tables are known for it.
+     */
+    public OptionalLong estimate(Class<?> type) {
+        List<String> tables = ESTIMATE_TABLES.get(type);
+        if (tables == null) {
+            return OptionalLong.empty();
+        }
+        String placeholders = tables.stream().map(table -> "?").collect(Collectors.joining(", "));
+        Long estimate = jdbcTemplate.queryForObject(String.format(ESTIMATE_SQL, placeholders), Long.class, tables.toArray());
+        return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", counts.size());
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counts.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    // Entity plus the sorted filter triples, so the same filters in another order share an entry
+    private static String key(Class<?> type, List<FilterCriteria> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return type.getName();
+        }
+        return type.getName() + "?" + filters.stream()
+                .map(filter -> filter.getField() + "|" + filter.getOperator().toLowerCase(Locale.ROOT) + "|"
+                        + valueKey(filter.getValue()) + "|" + valueKey(filter.getValue2()))
+                .sorted()
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String valueKey(Object value) {
+        if (value instanceof Role role) {
+            return "role:" + role.getId();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.criteria.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 
 public class GenericSpecification {
@@ -40,6 +41,23 @@ public class GenericSpecification {
         // Handle nested fields (e.g., "user.username", "question.form.id")
         Path<?> path = getPath(root, field);
 
+        // Roles resolved by FilterService: test membership on the user_roles join table, no join to roles
+        if (value instanceof Role role) {
+            Expression<Collection<Role>> roles = root.get(field);
+            switch (operator) {
+                case "eq":
+                case "contains":
+                    return cb.isMember(role, roles);
+                case "neq":
+                    Join<Object, Role> rolesJoin = root.join(field, JoinType.INNER);
+                    return cb.notEqual(rolesJoin.get("id"), role.getId());
+                case "not_contains":
+                    return cb.isNotMember(role, roles);
+                default:
+                    break;
+            }
+        }
+
         switch (operator) {
             case "eq":
                 if ("roles".equals(field)) {
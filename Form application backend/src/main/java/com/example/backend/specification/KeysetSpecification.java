@@ -0,0 +1,152 @@
+// src/main/java/com/example/backend/specification/KeysetSpecification.java
+package com.example.backend.specification;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset ("seek") paging: instead of skipping OFFSET rows, the next page starts after the last row seen,
+ * identified by its sort value and its id (the tie-breaker). With an index on the sort column the cost of a
+ * page no longer depends on how deep it is. Combine with the GenericSpecification filters via Specification.and.
+ */
+public class KeysetSpecification {
+
+    private static final String TOKEN_VERSION = "1";
+
+    /**
+     * Position after the last row of a page. Encoded into an opaque token for the client.
+     * @param sortBy The sort field the cursor was issued for (nested paths like "user.username" allowed).
+     * @param direction The sort direction the cursor was issued for.
+     * @param id The id of the last row.
+     * @param sortValue The sort value of the last row as a string, or null if it was NULL.
+     */
+    public record Cursor(String sortBy, Sort.Direction direction, Long id, String sortValue) {
+
+        public String encode() {
+            String raw = String.join("\n", TOKEN_VERSION, sortBy, direction.name(), String.valueOf(id),
+                    sortValue == null ? "N" : "V" + sortValue);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the token is malformed.
+         */
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\n", 5); // The sort value comes last and may itself contain newlines
+                if (parts.length != 5 || !TOKEN_VERSION.equals(parts[0])) {
+                    throw new IllegalArgumentException("Error: Invalid cursor.");
+                }
+                String sortValue = parts[4].startsWith("V") ? parts[4].substring(1) : null;
+                return new Cursor(parts[1], Sort.Direction.valueOf(parts[2]), Long.parseLong(parts[3]), sortValue);
+            } catch (IllegalArgumentException e) { // Also covers bad Base64, direction and id
+                throw new IllegalArgumentException("Error: Invalid cursor.", e);
+            }
+        }
+
+        /**
+         * The cursor pointing after a row.
+         */
+        public static Cursor after(Object row, String sortBy, Sort.Direction direction) {
+            BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+            Object sortValue = "id".equals(sortBy) ? null : wrapper.getPropertyValue(sortBy);
+            return new Cursor(sortBy, direction, (Long) wrapper.getPropertyValue("id"),
+                    sortValue == null ? null : sortValue.toString());
+        }
+    }
+
+    /**
+     * Sort by the requested field, then by id so the order is total and the cursor is unambiguous.
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        Sort byId = Sort.by(direction, "id");
+        return "id".equals(sortBy) ? byId : Sort.by(direction, sortBy).and(byId);
+    }
+
+    /**
+     * Rows strictly after the cursor in {@link #sort} order: (sort, id) > (value, id) ascending, &lt; descending.
+     * MySQL sorts NULLs first ascending and last descending, which the NULL branches follow.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.direction().isAscending();
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(idPath, cursor.id()) : cb.lessThan(idPath, cursor.id());
+            if ("id".equals(cursor.sortBy())) {
+                return idAfter;
+            }
+
+            Path<?> sortPath = sortPath(root, cursor.sortBy());
+            Expression<Comparable> sort = (Expression<Comparable>) sortPath;
+            if (cursor.sortValue() == null) {
+                Predicate sameNull = cb.and(cb.isNull(sort), idAfter);
+                return ascending ? cb.or(sameNull, cb.isNotNull(sort)) : sameNull;
+            }
+            Comparable value = convert(cursor.sortValue(), sortPath.getJavaType());
+            Predicate beyond = ascending ? cb.greaterThan(sort, value) : cb.lessThan(sort, value);
+            Predicate tie = cb.and(cb.equal(sort, value), idAfter);
+            return ascending ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(sort));
+        };
+    }
+
+    /**
+     * Resolves a sort field, which must be a comparable column (not an association).
+     * @throws IllegalArgumentException if the field cannot be used for keyset paging.
+     */
+    public static Path<?> sortPath(Root<?> root, String sortBy) {
+        Path<?> path = root;
+        for (String f : sortBy.split("\\.")) {
+            path = path.get(f);
+        }
+        if (!Comparable.class.isAssignableFrom(boxed(path.getJavaType()))) {
+            throw new IllegalArgumentException("Error: Cannot page by " + sortBy + ".");
+        }
+        return path;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable convert(String value, Class<?> type) {
+        Class<?> target = boxed(type);
+        if (target == String.class) {
+            return value;
+        } else if (target == Long.class) {
+            return Long.parseLong(value);
+        } else if (target == Integer.class) {
+            return Integer.parseInt(value);
+        } else if (target == Double.class) {
+            return Double.parseDouble(value);
+        } else if (target == Float.class) {
+            return Float.parseFloat(value);
+        } else if (target == Boolean.class) {
+            return Boolean.parseBoolean(value);
+        } else if (target == Instant.class) {
+            return Instant.parse(value);
+        } else if (target == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (target == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        } else if (target.isEnum()) {
+            return Enum.valueOf((Class<Enum>) target, value);
+        }
+        throw new IllegalArgumentException("Error: Cannot page by a value of type " + type.getSimpleName() + ".");
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == long.class) return Long.class;
+        if (type == int.class) return Integer.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        return type;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.FormDTO;
+import com.example.backend.dto.QuestionDTO;
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.QuestionOption;
+import com.example.backend.model.User;
+import com.example.backend.service.FormImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two submissions of the same radio answer racing each other (two tabs, or autosave plus submit),
+ * against the development MySQL database like BackendApplicationTests.
+ */
+@SpringBootTest
+class AnswerSelectionRepositoryConcurrencyTest {
+
+    @Autowired
+    private AnswerSelectionRepository answerSelectionRepository;
+    @Autowired
+    private AnswerRepository answerRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FormRepository formRepository;
+    @Autowired
+    private FormImportService formImportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long formId;
+    private Long userId;
+    private Long answerId;
+    private Map<String, Long> optionIds;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = String.valueOf(System.nanoTime());
+        FormDTO definition = new FormDTO();
+        definition.setTitle("Two tabs " + suffix);
+        definition.setQuestions(List.of(new QuestionDTO(null, "Favourite colour?", "radio", List.of("Red", "Blue", "Green"), null)));
+        formId = formImportService.importForm(definition).form().getId();
+
+        Question question = questionRepository.findByFormIdWithOptions(formId).get(0);
+        optionIds = questionOptionRepository.findByQuestion_IdInOrderByPositionAsc(List.of(question.getId())).stream()
+                .collect(Collectors.toMap(QuestionOption::getOptionText, QuestionOption::getId));
+        User user = userRepository.save(new User(null, "two-tabs-" + suffix, "unused", new HashSet<>(), 0));
+        userId = user.getId();
+        answerId = answerRepository.save(new Answer(null, question, user, "Red")).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                answerSelectionRepository.replaceSelections(Map.of(answerId, Set.of(optionIds.get("Red")))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM answers WHERE user_id = ?", userId);
+            userRepository.deleteById(userId);
+            formRepository.deleteById(formId);
+        });
+    }
+
+    @Test
+    void secondTabDiffsAgainstTheFirstTabsCommittedSelection() throws Exception {
+        CyclicBarrier snapshotsTaken = new CyclicBarrier(2);
+        CountDownLatch firstLocked = new CountDownLatch(1);
+
+        CompletableFuture<Map<Long, Integer>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            readSelections(); // Both transactions take their snapshot before either writes
+            await(snapshotsTaken);
+            lockAnswer();
+            firstLocked.countDown();
+            return answerSelectionRepository.replaceSelections(Map.of(answerId, Set.of(optionIds.get("Blue"))));
+        }));
+        CompletableFuture<Map<Long, Integer>> second = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            readSelections();
+            await(snapshotsTaken);
+            awaitLatch(firstLocked);
+            lockAnswer(); // Waits for the first tab to commit, as the answer upsert would
+            return answerSelectionRepository.replaceSelections(Map.of(answerId, Set.of(optionIds.get("Green"))));
+        }));
+
+        Map<Long, Integer> deltas = new HashMap<>(first.get(10, TimeUnit.SECONDS));
+        second.get(10, TimeUnit.SECONDS).forEach((optionId, delta) -> deltas.merge(optionId, delta, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+
+        assertThat(readSelections()).containsExactly(optionIds.get("Green"));
+        assertThat(deltas).isEqualTo(Map.of(optionIds.get("Red"), -1, optionIds.get("Green"), 1));
+    }
+
+    private List<Long> readSelections() {
+        return jdbcTemplate.queryForList("SELECT option_id FROM answer_selections WHERE answer_id = ?", Long.class, answerId);
+    }
+
+    private void lockAnswer() {
+        jdbcTemplate.queryForObject("SELECT id FROM answers WHERE id = ? FOR UPDATE", Long.class, answerId);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the first tab.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
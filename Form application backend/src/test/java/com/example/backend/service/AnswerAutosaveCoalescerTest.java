@@ -0,0 +1,153 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Autosave coalescing with the database mocked out.
+ */
+class AnswerAutosaveCoalescerTest {
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final AnswerSelectionService answerSelectionService = mock(AnswerSelectionService.class);
+    private AnswerAutosaveCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(questionRepository.findAllWithFormByIdIn(any())).thenAnswer(invocation ->
+                StreamSupport.stream(((Iterable<Long>) invocation.getArgument(0)).spliterator(), false)
+                        .map(AnswerAutosaveCoalescerTest::question).toList());
+        coalescer = new AnswerAutosaveCoalescer(answerSelectionService, questionRepository);
+        ReflectionTestUtils.setField(coalescer, "maxPendingPerUser", 500);
+    }
+
+    @Test
+    void poisonEditIsDroppedAndTheRestOfTheChunkIsWritten() {
+        doAnswer(invocation -> {
+            List<Answer> answers = invocation.getArgument(0);
+            if (answers.stream().anyMatch(answer -> "poison".equals(answer.getResponse()))) {
+                throw new DataIntegrityViolationException("Incorrect string value");
+            }
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyBoolean());
+        coalescer.record(1L, 10L, "fine", null);
+        coalescer.record(2L, 10L, "poison", null);
+        coalescer.record(3L, 10L, "also fine", null);
+
+        coalescer.flush();
+        assertThat(coalescer.getStats()).containsEntry("rowsWritten", 2L).containsEntry("dropped", 1L)
+                .containsEntry("pendingUsers", 0);
+
+        // Nothing was requeued, so the next flush writes nothing
+        coalescer.flush();
+        verify(answerSelectionService, times(4)).upsertWithSelections(anyList(), anyMap(), anyBoolean());
+    }
+
+    @Test
+    void transientFailureIsRequeued() {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new CannotAcquireLockException("Lock wait timeout exceeded");
+            }
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyBoolean());
+        coalescer.record(1L, 10L, "fine", null);
+
+        coalescer.flush();
+        assertThat(coalescer.getStats()).containsEntry("pendingUsers", 1).containsEntry("dropped", 0L);
+
+        databaseDown.set(false);
+        coalescer.flush();
+        assertThat(coalescer.getStats()).containsEntry("pendingUsers", 0).containsEntry("rowsWritten", 1L);
+    }
+
+    @Test
+    void formVersionIsKeptThroughARequeue() {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        List<Answer> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new CannotAcquireLockException("Lock wait timeout exceeded");
+            }
+            written.addAll(invocation.getArgument(0));
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyBoolean());
+        coalescer.record(1L, 10L, "answered on an older version", 7L);
+
+        coalescer.flush();
+        databaseDown.set(false);
+        coalescer.flush();
+
+        assertThat(written).singleElement().satisfies(answer -> {
+            assertThat(answer.getResponse()).isEqualTo("answered on an older version");
+            assertThat(answer.getFormVersionId()).isEqualTo(7L);
+        });
+    }
+
+    @Test
+    void discardWaitsForAnInFlightWrite() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyBoolean());
+        coalescer.record(1L, 10L, "draft", null);
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(coalescer::flush);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> discard = CompletableFuture.runAsync(() -> coalescer.discard(1L, List.of(10L)));
+
+        // The submission must not commit while the autosave it supersedes is still being written
+        Thread.sleep(100);
+        assertThat(discard).isNotDone();
+
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        discard.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void responseTooLongForTheColumnIsRefused() {
+        String tooLong = "x".repeat(Answer.MAX_RESPONSE_BYTES + 1);
+
+        assertThatThrownBy(() -> coalescer.record(1L, 10L, tooLong, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(coalescer.getStats()).containsEntry("pendingUsers", 0);
+    }
+
+    private static Question question(Long id) {
+        Question question = new Question();
+        question.setId(id);
+        question.setType("text");
+        return question;
+    }
+}
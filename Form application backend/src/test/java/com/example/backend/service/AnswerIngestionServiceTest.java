@@ -0,0 +1,217 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Answer;
+import com.example.backend.model.Question;
+import com.example.backend.model.User;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queued ingestion against a real AnswerIngestionLog in a temporary directory, with the database mocked out.
+ */
+class AnswerIngestionServiceTest {
+
+    @TempDir
+    Path logDir;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final AnswerSelectionService answerSelectionService = mock(AnswerSelectionService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<AnswerIngestionService> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> ids(invocation.getArgument(0)).stream()
+                .map(AnswerIngestionServiceTest::user).toList());
+        when(questionRepository.findAllWithFormByIdIn(any())).thenAnswer(invocation -> ids(invocation.getArgument(0)).stream()
+                .map(AnswerIngestionServiceTest::question).toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (AnswerIngestionService service : started) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void poisonSubmissionIsRejectedAndDoesNotBlockTheOthers() throws IOException {
+        failWritesOf("poison", new DataIntegrityViolationException("Data too long for column 'response'"));
+        AnswerIngestionService service = start();
+
+        AnswerIngestionService.Receipt before = service.submit(List.of(answer(1L, 10L, "fine")));
+        AnswerIngestionService.Receipt poison = service.submit(List.of(answer(2L, 10L, "poison")));
+        AnswerIngestionService.Receipt after = service.submit(List.of(answer(3L, 10L, "also fine")));
+        service.drain();
+
+        assertThat(status(service, before)).isEqualTo(AnswerIngestionService.Status.APPLIED);
+        assertThat(status(service, poison)).isEqualTo(AnswerIngestionService.Status.REJECTED);
+        assertThat(status(service, after)).isEqualTo(AnswerIngestionService.Status.APPLIED);
+        assertThat(service.getStats()).containsEntry("pendingBytes", 0L);
+
+        // One failed batch, then one transaction per submission; nothing is left to retry
+        service.drain();
+        verify(answerSelectionService, times(4)).upsertWithSelections(anyList(), anyMap(), anyMap(), anyBoolean());
+    }
+
+    @Test
+    void transientFailureRejectsNothingAndIsRetried() throws IOException {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new CannotAcquireLockException("Lock wait timeout exceeded");
+            }
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyMap(), anyBoolean());
+        AnswerIngestionService service = start();
+
+        AnswerIngestionService.Receipt receipt = service.submit(List.of(answer(1L, 10L, "fine")));
+        service.drain();
+        assertThat(status(service, receipt)).isEqualTo(AnswerIngestionService.Status.QUEUED);
+        assertThat((Long) service.getStats().get("pendingBytes")).isPositive();
+
+        databaseDown.set(false);
+        service.drain();
+        assertThat(status(service, receipt)).isEqualTo(AnswerIngestionService.Status.APPLIED);
+        assertThat(service.getStats()).containsEntry("pendingBytes", 0L);
+    }
+
+    @Test
+    void loggedSubmissionsAreReplayedAfterRestart() throws IOException {
+        AnswerIngestionService first = start();
+        AnswerIngestionService.Receipt receipt = first.submit(List.of(answer(1L, 10L, "before the crash")));
+        crash(first);
+        verifyNoInteractions(answerSelectionService);
+
+        AnswerIngestionService second = start();
+        assertThat(status(second, receipt)).isEqualTo(AnswerIngestionService.Status.QUEUED);
+        second.drain();
+
+        assertThat(status(second, receipt)).isEqualTo(AnswerIngestionService.Status.APPLIED);
+        verify(answerSelectionService).upsertWithSelections(
+                argThat(answers -> answers.size() == 1 && "before the crash".equals(answers.get(0).getResponse())),
+                anyMap(), anyMap(), anyBoolean());
+    }
+
+    @Test
+    void appendTimeoutKeepsTheReceiptQueued() throws IOException {
+        AnswerIngestionService service = start();
+        AnswerIngestionLog realLog = (AnswerIngestionLog) ReflectionTestUtils.getField(service, "log");
+        AnswerIngestionLog stalledLog = mock(AnswerIngestionLog.class);
+        CompletableFuture<Long> stalled = new CompletableFuture<>();
+        when(stalledLog.append(any())).thenReturn(stalled);
+        ReflectionTestUtils.setField(service, "log", stalledLog);
+        ReflectionTestUtils.setField(service, "appendTimeoutMs", 50L);
+        try {
+            AnswerIngestionService.Receipt receipt = service.submit(List.of(answer(1L, 10L, "slow disk")));
+
+            // Not a failure: the record may still reach the disk and be applied
+            assertThat(receipt.status()).isEqualTo(AnswerIngestionService.Status.QUEUED);
+            assertThat(service.getReceipt(receipt.receiptId())).isPresent();
+
+            stalled.completeExceptionally(new IOException("No space left on device"));
+            assertThat(status(service, receipt)).isEqualTo(AnswerIngestionService.Status.REJECTED);
+        } finally {
+            ReflectionTestUtils.setField(service, "log", realLog);
+        }
+    }
+
+    @Test
+    void responseTooLongForTheColumnIsRefusedBeforeLogging() throws IOException {
+        AnswerIngestionService service = start();
+        String tooLong = "x".repeat(Answer.MAX_RESPONSE_BYTES + 1);
+
+        assertThatThrownBy(() -> service.submit(List.of(answer(1L, 10L, tooLong))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getStats()).containsEntry("pendingBytes", 0L);
+    }
+
+    private AnswerIngestionService start() throws IOException {
+        AnswerIngestionService service = new AnswerIngestionService(userRepository, questionRepository,
+                answerSelectionService, transactionManager, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "ingestionMode", "queued");
+        ReflectionTestUtils.setField(service, "logDir", logDir.toString());
+        ReflectionTestUtils.setField(service, "logQueueCapacity", 100);
+        ReflectionTestUtils.setField(service, "appendTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "drainBatchSize", 200);
+        ReflectionTestUtils.setField(service, "receiptRetentionMs", 3_600_000L);
+        service.init();
+        started.add(service);
+        return service;
+    }
+
+    // Closes the log without draining, as a process that dies after acknowledging would leave it
+    private static void crash(AnswerIngestionService service) throws IOException {
+        AnswerIngestionLog log = (AnswerIngestionLog) ReflectionTestUtils.getField(service, "log");
+        ReflectionTestUtils.setField(service, "log", null);
+        log.close();
+    }
+
+    private void failWritesOf(String response, RuntimeException failure) {
+        doAnswer(invocation -> {
+            List<Answer> answers = invocation.getArgument(0);
+            if (answers.stream().anyMatch(answer -> response.equals(answer.getResponse()))) {
+                throw failure;
+            }
+            return Map.of();
+        }).when(answerSelectionService).upsertWithSelections(anyList(), anyMap(), anyMap(), anyBoolean());
+    }
+
+    private static AnswerIngestionService.Status status(AnswerIngestionService service, AnswerIngestionService.Receipt receipt) {
+        return service.getReceipt(receipt.receiptId()).orElseThrow().status();
+    }
+
+    private static List<Long> ids(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false).toList();
+    }
+
+    private static Answer answer(Long userId, Long questionId, String response) {
+        return new Answer(null, question(questionId), user(userId), response);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Question question(Long id) {
+        Question question = new Question();
+        question.setId(id);
+        question.setType("text");
+        return question;
+    }
+}
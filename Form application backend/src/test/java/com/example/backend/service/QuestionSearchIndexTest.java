@@ -0,0 +1,148 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Form;
+import com.example.backend.model.Question;
+import com.example.backend.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Question search with the database mocked out.
+ */
+class QuestionSearchIndexTest {
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    // formId -> the questions findByFormIdWithOptions returns for it
+    private final Map<Long, List<Question>> forms = new HashMap<>();
+    private QuestionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(questionRepository.findByFormIdWithOptions(anyLong())).thenAnswer(invocation ->
+                forms.getOrDefault(invocation.<Long>getArgument(0), List.of()));
+        when(questionRepository.findAllWithOptions()).thenAnswer(invocation ->
+                forms.values().stream().flatMap(List::stream).toList());
+        index = new QuestionSearchIndex(questionRepository);
+
+        forms.put(1L, List.of(
+                question(1L, 10L, "What is your favourite colour?", "Red", "Green", "Blue"),
+                question(1L, 11L, "Which caf\u00e9 do you visit most?", "Cr\u00e8me br\u00fbl\u00e9e corner", "Bean house"),
+                question(1L, 12L, "How often do you travel?", "Weekly", "Yearly")));
+        forms.put(2L, List.of(
+                question(2L, 20L, "Favourite season", "Summer", "Winter"),
+                question(2L, 21L, "Your colour of car", "Red", "Silver")));
+        index.rebuild();
+    }
+
+    @Test
+    void prefixMatchesRankBelowWholeTokens() {
+        assertThat(ids(index.search("fav", null, 0, 10))).containsExactlyInAnyOrder(10L, 20L);
+        assertThat(ids(index.search("trav", null, 0, 10))).containsExactly(12L);
+
+        // "colour" is a whole token of both, "colo" only a prefix; the scores must reflect that
+        double exact = index.search("colour", 1L, 0, 10).hits().get(0).score();
+        double prefix = index.search("colo", 1L, 0, 10).hits().get(0).score();
+        assertThat(exact).isGreaterThan(prefix);
+    }
+
+    @Test
+    void substringMatchesNeedThreeCharacters() {
+        assertThat(ids(index.search("vourit", null, 0, 10))).containsExactlyInAnyOrder(10L, 20L);
+        assertThat(ids(index.search("ilve", null, 0, 10))).containsExactly(21L); // Option "Silver"
+        // Below a trigram only prefixes match
+        assertThat(index.search("ve", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void everyTermMustMatchAndThePhraseRanksFirst() {
+        assertThat(ids(index.search("favourite colour", null, 0, 10))).containsExactly(10L);
+        assertThat(ids(index.search("colour red", null, 0, 10))).containsExactly(10L, 21L); // Equal scores, by ID
+        assertThat(index.search("colour purple", null, 0, 10).total()).isZero();
+
+        // Both contain "your" and "colour"; only question 21 has them next to each other
+        assertThat(ids(index.search("your colour", null, 0, 10))).containsExactly(21L, 10L);
+    }
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertThat(ids(index.search("cafe", null, 0, 10))).containsExactly(11L);
+        assertThat(ids(index.search("CAF\u00c9", null, 0, 10))).containsExactly(11L);
+        assertThat(ids(index.search("creme brulee", null, 0, 10))).containsExactly(11L);
+        assertThat(ids(index.search("br\u00fbl", null, 0, 10))).containsExactly(11L);
+    }
+
+    @Test
+    void searchIsScopedToTheFormAndPaged() {
+        assertThat(ids(index.search("red", 2L, 0, 10))).containsExactly(21L);
+        assertThat(index.search("red", 99L, 0, 10).total()).isZero();
+
+        QuestionSearchIndex.Result page = index.search("you", null, 1, 2);
+        assertThat(page.total()).isEqualTo(4); // 10, 11, 12 and 21 all contain "you..."
+        assertThat(page.hits()).hasSize(2);
+    }
+
+    @Test
+    void reindexReplacesTheQuestionsOfOneForm() {
+        forms.put(1L, List.of(
+                question(1L, 10L, "What is your favourite flavour?", "Vanilla", "Chocolate"),
+                question(1L, 13L, "Any other caf\u00e9 you like?")));
+        index.reindexForm(1L);
+
+        assertThat(ids(index.search("colour", null, 0, 10))).containsExactly(21L);
+        assertThat(ids(index.search("vanil", null, 0, 10))).containsExactly(10L);
+        assertThat(ids(index.search("cafe", null, 0, 10))).containsExactly(13L);
+        assertThat(index.search("travel", null, 0, 10).total()).isZero();
+        assertThat(ids(index.search("season", null, 0, 10))).containsExactly(20L); // Other forms untouched
+
+        forms.remove(2L); // Deleted form
+        index.reindexForm(2L);
+        assertThat(index.search("season", null, 0, 10).total()).isZero();
+        assertThat(index.search("red", 2L, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void compactionKeepsTheLiveQuestions() {
+        // Each re-index tombstones the form's previous documents; compaction starts at 1000 tombstones
+        for (int i = 0; i < 1000; i++) {
+            index.reindexForm(2L);
+        }
+        assertThat(index.getStats()).containsEntry("tombstones", 0).containsEntry("questions", 5);
+
+        assertThat(ids(index.search("colour", null, 0, 10))).containsExactlyInAnyOrder(10L, 21L);
+        assertThat(ids(index.search("season", 2L, 0, 10))).containsExactly(20L);
+        assertThat(ids(index.search("cafe", 1L, 0, 10))).containsExactly(11L);
+
+        // Re-indexing after compaction still replaces the right documents
+        forms.put(2L, new ArrayList<>(List.of(question(2L, 20L, "Favourite month", "May"))));
+        index.reindexForm(2L);
+        assertThat(index.search("season", null, 0, 10).total()).isZero();
+        assertThat(ids(index.search("month", null, 0, 10))).containsExactly(20L);
+        assertThat(index.getStats()).containsEntry("questions", 4);
+    }
+
+    private static List<Long> ids(QuestionSearchIndex.Result result) {
+        return result.hits().stream().map(QuestionSearchIndex.Hit::questionId).toList();
+    }
+
+    private static Question question(Long formId, Long id, String text, String... options) {
+        Form form = new Form();
+        form.setId(formId);
+        Question question = new Question();
+        question.setId(id);
+        question.setForm(form);
+        question.setQuestionText(text);
+        question.setType(options.length == 0 ? "text" : "radio");
+        question.setOptions(new ArrayList<>(List.of(options)));
+        return question;
+    }
+}
@@ -546,6 +546,18 @@ function AdminPanel({ onLogout, isMainTab }) {
         }
     };
 
+    // Freezes the form's current questions into a new version; respondents only ever see published versions
+    const handlePublishForm = async (formId) => {
+        if (!isMainTab) { setError("Cannot publish form. This is not the main active tab."); return; }
+        try {
+            await axiosInstance.post(`/admin/forms/${formId}/publish`);
+            fetchAllAdminData();
+        } catch (err) {
+            console.error("Error publishing form:", err);
+            setError("Failed to publish form.");
+        }
+    };
+
     const handleFormModalSubmit = async (e) => {
         e.preventDefault();
         if (!isMainTab) { setError("Cannot save form. This is not the main active tab."); return; }
@@ -1183,6 +1195,7 @@ function AdminPanel({ onLogout, isMainTab }) {
                                             <th>ID</th>
                                             <th>Title</th>
                                             <th>Description</th>
+                                            <th>Published Version</th>
                                             <th>Actions</th>
                                         </tr>
                                     </thead>
@@ -1192,7 +1205,11 @@ function AdminPanel({ onLogout, isMainTab }) {
                                                 <td>{form.id}</td>
                                                 <td>{form.title}</td>
                                                 <td>{form.description}</td>
+                                                <td>{form.publishedVersionId ?? 'Draft only'}</td>
                                                 <td className="table-actions">
+                                                    <button onClick={() => handlePublishForm(form.id)} className="action-button edit-button" disabled={!isMainTab}>
+                                                        Publish
+                                                    </button>
                                                     <button onClick={() => fetchFormQuestions(form.id)} className="action-button view-questions-button" disabled={!isMainTab}>
                                                         Manage Questions
                                                     </button>
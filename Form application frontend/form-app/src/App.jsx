@@ -60,6 +60,15 @@ function App() {
         setIsLogoutInProgress(true);
         // Explicitly release the main tab claim when logging out
         releaseMainTab();
+        // Best effort: revoke this device's refresh token on the server
+        const storedUser = JSON.parse(localStorage.getItem('user'));
+        if (storedUser && storedUser.refreshToken) {
+            fetch('http://localhost:8080/api/auth/signout', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken: storedUser.refreshToken }),
+            }).catch((err) => console.error('Sign-out request failed:', err));
+        }
         localStorage.removeItem('user');
         setIsLoggedIn(false);
         setCurrentUser(null);
@@ -4,12 +4,17 @@ import { useNavigate } from 'react-router-dom';
 import axiosInstance from '../services/axios-instance'; // Assuming you have an axiosInstance for authenticated requests
 import './HomePageStyle.css'; // Import the new CSS file
 
+const FORMS_PAGE_SIZE = 20;
+
 function HomePage({ onLogout }) {
     const navigate = useNavigate();
     const [username, setUsername] = useState('');
     const [forms, setForms] = useState([]); // NEW: State to store fetched forms
     const [loadingForms, setLoadingForms] = useState(true); // NEW: Loading state for forms
     const [formsError, setFormsError] = useState(null); // NEW: Error state for forms
+    const [page, setPage] = useState(0);
+    const [totalPages, setTotalPages] = useState(0);
+    const [hasNext, setHasNext] = useState(false);
 
     useEffect(() => {
         const user = JSON.parse(localStorage.getItem('user'));
@@ -24,8 +29,11 @@ function HomePage({ onLogout }) {
             try {
                 setLoadingForms(true);
                 setFormsError(null);
-                const response = await axiosInstance.get('/forms'); // Fetch forms from the backend
-                setForms(response.data);
+                // Summaries only (id, title, description, question count); the browser revalidates with If-None-Match
+                const response = await axiosInstance.get('/forms/summary', { params: { page, size: FORMS_PAGE_SIZE } });
+                setForms(response.data.content);
+                setTotalPages(response.data.totalPages);
+                setHasNext(response.data.hasNext);
             } catch (err) {
                 console.error("Error fetching forms:", err);
                 const errorMessage =
@@ -43,11 +51,11 @@ function HomePage({ onLogout }) {
         };
 
         fetchForms();
-    }, [onLogout]);
+    }, [onLogout, page]);
 
-    const handleGoToForm = (formId) => {
-        // Navigate to the QuestionForm page with formId and default pagination parameters
-        navigate(`/forms/${formId}/questions?pageNo=0&questionLimit=5`);
+    const handleGoToForm = (formId, versionId) => {
+        // Navigate to the QuestionForm page with formId, its published version and default pagination parameters
+        navigate(`/forms/${formId}/questions?version=${versionId}&pageNo=0&questionLimit=5`);
     };
 
     return (
@@ -76,8 +84,9 @@ function HomePage({ onLogout }) {
                             <li key={form.id} className="form-item">
                                 <h4 className="form-item-title">{form.title}</h4>
                                 <p className="form-item-description">{form.description}</p>
+                                <p className="form-item-description">{form.questionCount} question(s)</p>
                                 <button
-                                    onClick={() => handleGoToForm(form.id)}
+                                    onClick={() => handleGoToForm(form.id, form.publishedVersionId)}
                                     className="go-to-form-button"
                                 >
                                     Start/Continue
@@ -86,6 +95,28 @@ function HomePage({ onLogout }) {
                         ))}
                     </ul>
                 )}
+                {/* Pagination Controls: published forms beyond the first page are one click away */}
+                {!formsError && (page > 0 || hasNext) && (
+                    <div className="forms-pagination">
+                        <button
+                            type="button"
+                            onClick={() => setPage(Math.max(0, page - 1))}
+                            disabled={page === 0 || loadingForms}
+                            className="forms-pagination-button"
+                        >
+                            Previous
+                        </button>
+                        <span className="forms-page-info">Page {page + 1} of {Math.max(totalPages, 1)}</span>
+                        <button
+                            type="button"
+                            onClick={() => setPage(page + 1)}
+                            disabled={!hasNext || loadingForms}
+                            className="forms-pagination-button"
+                        >
+                            Next
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -1,5 +1,5 @@
 // src/QuestionForm/QuestionForm.jsx
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import axiosInstance from '../services/axios-instance';
 import './QuestionFormStyle.css'; // Import the CSS file
 import { useNavigate, useParams, useSearchParams, useLocation } from 'react-router-dom'; // Import necessary hooks
@@ -10,6 +10,7 @@ const QuestionForm = ({ onLogout }) => {
     const location = useLocation();
     const [searchParams, setSearchParams] = useSearchParams();
     const [questions, setQuestions] = useState([]);
+    const [formVersionId, setFormVersionId] = useState(null); // The published version being answered
     const [answers, setAnswers] = useState({});
     const [userExistingAnswers, setUserExistingAnswers] = useState({});
     const [status, setStatus] = useState(null); // 'saving', 'success', 'error'
@@ -37,6 +38,7 @@ const QuestionForm = ({ onLogout }) => {
     // Get pagination values from URL or use defaults
     const pageNo = parseInt(searchParams.get('pageNo')) || 0;
     const questionLimit = parseInt(searchParams.get('questionLimit')) || 5;
+    const version = searchParams.get('version');
 
     // Function to update URL parameters
     const updateUrlParams = (newParams) => {
@@ -83,28 +85,40 @@ const QuestionForm = ({ onLogout }) => {
             setLoading(true);
             setValidationErrors({});
 
-            // Fetch paginated questions with URL parameters
-            const questionsRes = await axiosInstance.get(
-                `/forms/${formId}/questions/paginated?pageNo=${pageNo}&questionLimit=${questionLimit}`
+            // The whole published form is one response; a version URL never changes, so the browser caches it for good.
+            // Pages are sliced locally.
+            const definitionRes = await axiosInstance.get(
+                version ? `/forms/${formId}/versions/${version}` : `/forms/${formId}/published`
             );
-            
-            const questionsList = questionsRes.data.content;
+            setFormVersionId(definitionRes.data.versionId);
+            const allQuestions = definitionRes.data.questions || [];
+            const totalPages = Math.ceil(allQuestions.length / questionLimit);
+
+            const questionsList = allQuestions.slice(pageNo * questionLimit, (pageNo + 1) * questionLimit);
             setQuestions(questionsList);
             setPaginationData({
-                totalElements: questionsRes.data.totalElements,
-                totalPages: questionsRes.data.totalPages,
-                first: questionsRes.data.first,
-                last: questionsRes.data.last,
-                hasNext: questionsRes.data.hasNext,
-                hasPrevious: questionsRes.data.hasPrevious
+                totalElements: allQuestions.length,
+                totalPages: totalPages,
+                first: pageNo === 0,
+                last: pageNo >= totalPages - 1,
+                hasNext: pageNo < totalPages - 1,
+                hasPrevious: pageNo > 0
             });
 
-            // Fetch user's existing answers
-            const userAnswersRes = await axiosInstance.get("/answers/my-answers");
-            const existingAnswersMap = userAnswersRes.data.reduce((acc, answer) => {
-                acc[answer.question.id] = answer;
-                return acc;
-            }, {});
+            // Fetch the user's existing answers for the questions on this page only
+            const existingAnswersMap = {};
+            if (questionsList.length > 0) {
+                const userAnswersRes = await axiosInstance.get("/answers/my-answers", {
+                    params: {
+                        formId,
+                        questionIds: questionsList.map(q => q.id).join(','),
+                        size: questionsList.length
+                    }
+                });
+                userAnswersRes.data.content.forEach(answer => {
+                    existingAnswersMap[answer.questionId] = answer;
+                });
+            }
             setUserExistingAnswers(existingAnswersMap);
 
             // Pre-fill form answers with existing ones
@@ -152,7 +166,7 @@ const QuestionForm = ({ onLogout }) => {
         if (formId) {
             fetchAllData();
         }
-    }, [formId, pageNo, questionLimit]);
+    }, [formId, version, pageNo, questionLimit]);
 
     // Fetch user's answers for sidebar when sidebar is opened
     useEffect(() => {
@@ -182,7 +196,33 @@ const QuestionForm = ({ onLogout }) => {
         }
     }, [isSidebarOpen, onLogout]);
 
+    // Autosave: each edited question is PATCHed once the user pauses; the server coalesces further
+    const dirtyQuestions = useRef(new Set());
+    const autosaveTimers = useRef({});
+
+    useEffect(() => {
+        if (dirtyQuestions.current.size === 0) return;
+        const edited = Array.from(dirtyQuestions.current);
+        dirtyQuestions.current.clear();
+        edited.forEach(questionId => {
+            clearTimeout(autosaveTimers.current[questionId]);
+            const value = answers[questionId];
+            autosaveTimers.current[questionId] = setTimeout(() => {
+                delete autosaveTimers.current[questionId];
+                const response = Array.isArray(value) ? value.join(', ') : (value || '');
+                // Sent like the full submission, so an edit on an older version is validated against that version
+                axiosInstance.patch('/answers/autosave', { questionId, response, formVersionId })
+                    .catch(err => console.error("Autosave failed:", err));
+            }, 800);
+        });
+    }, [answers, formVersionId]);
+
+    useEffect(() => {
+        return () => Object.values(autosaveTimers.current).forEach(clearTimeout);
+    }, []);
+
     const handleChange = (questionId, value, type) => {
+        dirtyQuestions.current.add(questionId);
         // Clear specific validation error when user starts typing/selecting
         setValidationErrors(prev => {
             const newErrors = { ...prev };
@@ -280,18 +320,29 @@ const QuestionForm = ({ onLogout }) => {
             return {
                 question: { id: q.id },
                 response: responseValue,
-                user: { id: userId }
+                user: { id: userId },
+                formVersionId
             };
         });
 
         console.log("Sending payload:", payload);
 
+        // The full submission supersedes any autosave still waiting to be sent
+        Object.values(autosaveTimers.current).forEach(clearTimeout);
+        autosaveTimers.current = {};
+
         try {
             const res = await axiosInstance.post("/answers", payload);
             setStatus("success");
-            setSubmissionMessage("✅ Your answers were saved/updated!");
             setSubmissionMessageType('success');
-            fetchAllData(); // Re-fetch all data to update existing answers and notes
+            if (res.status === 202) {
+                // Queued ingestion: the answers are on the server's log and will be saved shortly
+                setSubmissionMessage("✅ Your answers were received and will be saved shortly.");
+                setTimeout(fetchAllData, 1000);
+            } else {
+                setSubmissionMessage("✅ Your answers were saved/updated!");
+                fetchAllData(); // Re-fetch all data to update existing answers and notes
+            }
         } catch (err) {
             console.error("Save failed:", err);
             setStatus("error");
@@ -35,11 +35,45 @@ axiosInstance.interceptors.request.use(
     }
 );
 
+// Access tokens are short-lived: on a 401, exchange the refresh token once and retry the request.
+// Concurrent 401s share a single refresh call, since each refresh token can only be used once.
+let refreshPromise = null;
+
+const refreshAccessToken = async () => {
+    const user = JSON.parse(localStorage.getItem('user'));
+    if (!user || !user.refreshToken) {
+        throw new Error('No refresh token available.');
+    }
+    const res = await axios.post('http://localhost:8080/api/auth/refreshtoken', {
+        refreshToken: user.refreshToken,
+    });
+    const updatedUser = { ...user, token: res.data.token, refreshToken: res.data.refreshToken };
+    localStorage.setItem('user', JSON.stringify(updatedUser));
+    return updatedUser.token;
+};
+
 // Response interceptor (optional, but good for handling 401/403 globally)
 axiosInstance.interceptors.response.use(
     (response) => response,
-    (error) => {
-        // If a 401 or 403 response is received, it might mean the token is expired or invalid
+    async (error) => {
+        const originalRequest = error.config;
+        if (error.response && error.response.status === 401 && originalRequest && !originalRequest._retry) {
+            originalRequest._retry = true;
+            try {
+                if (!refreshPromise) {
+                    refreshPromise = refreshAccessToken().finally(() => {
+                        refreshPromise = null;
+                    });
+                }
+                const token = await refreshPromise;
+                originalRequest.headers.Authorization = `Bearer ${token}`;
+                console.log('Axios Interceptor: Access token refreshed, retrying request.');
+                return axiosInstance(originalRequest);
+            } catch (refreshError) {
+                console.error('Axios Interceptor: Token refresh failed.', refreshError);
+            }
+        }
+        // If a 401 or 403 response is still received, the session is over or the user lacks permission
         if (error.response && (error.response.status === 401 || error.response.status === 403)) {
             console.error('Axios Interceptor: Authentication error (401/403). Token expired or invalid. Logging out...');
             localStorage.removeItem('user'); // Clear invalid user data